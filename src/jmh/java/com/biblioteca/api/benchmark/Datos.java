@@ -0,0 +1,69 @@
+package com.biblioteca.api.benchmark;
+
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.entity.AutorEntity;
+import com.biblioteca.api.entity.LibroEntity;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de ejemplo compartidos por los benchmarks, con valores realistas
+ * (acentos, todos los campos informados).
+ */
+final class Datos {
+
+    static final LocalDateTime FECHA = LocalDateTime.of(2024, 5, 17, 10, 30, 15, 123_456_000);
+
+    private Datos() {
+    }
+
+    static AutorEntity autor() {
+        return AutorEntity.builder()
+                .id(1L)
+                .nombre("Gabriel")
+                .apellido("García Márquez")
+                .nacionalidad("Colombiana")
+                .fechaNacimiento(LocalDate.of(1927, 3, 6))
+                .createdAt(FECHA)
+                .updatedAt(FECHA)
+                .build();
+    }
+
+    static LibroEntity libro(AutorEntity autor, long id) {
+        return LibroEntity.builder()
+                .id(id)
+                .titulo("Cien años de soledad")
+                .isbn("9780307474728")
+                .genero("Realismo mágico")
+                .anioPublicacion(1967)
+                .numPaginas(417)
+                .autor(autor)
+                .createdAt(FECHA)
+                .updatedAt(FECHA)
+                .build();
+    }
+
+    static LibroResponseDto libroResponse(long id) {
+        return new LibroResponseDto(id, "Cien años de soledad", "9780307474728", "Realismo mágico",
+                1967, 417, true, 1L, "Gabriel García Márquez", FECHA, FECHA);
+    }
+
+    /**
+     * ObjectMapper equivalente al de la aplicación: los defaults de Spring Boot
+     * (módulos java.time, fechas ISO) más spring.jackson.* de application.properties.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+    }
+}
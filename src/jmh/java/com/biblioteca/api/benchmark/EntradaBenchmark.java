@@ -0,0 +1,83 @@
+package com.biblioteca.api.benchmark;
+
+import com.biblioteca.api.dto.libro.LibroRequestDto;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrada de POST/PUT de libros: deserialización de LibroRequestDto y
+ * validación Jakarta (incluye el @Pattern del ISBN), válida e inválida.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntradaBenchmark {
+
+    private static final byte[] JSON = """
+            {"titulo": "Cien años de soledad", "isbn": "9780307474728", "genero": "Realismo mágico",
+             "anio_publicacion": 1967, "num_paginas": 417, "autor_id": 1}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader reader;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private LibroRequestDto valido;
+    private LibroRequestDto isbnInvalido;
+
+    @Setup
+    public void preparar() {
+        reader = Datos.objectMapper().readerFor(LibroRequestDto.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valido = new LibroRequestDto("Cien años de soledad", "9780307474728", "Realismo mágico", 1967, 417, 1L);
+        isbnInvalido = new LibroRequestDto("Cien años de soledad", "978-0307474728", "Realismo mágico", 1967, 417, 1L);
+    }
+
+    @TearDown
+    public void cerrar() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public LibroRequestDto deserializar() throws IOException {
+        return reader.readValue(JSON);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LibroRequestDto>> validarValido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LibroRequestDto>> validarIsbnInvalido() {
+        return validator.validate(isbnInvalido);
+    }
+
+    /** Camino completo de un POST: JSON → DTO → validación. */
+    @Benchmark
+    public Set<ConstraintViolation<LibroRequestDto>> deserializarYValidar() throws IOException {
+        return validator.validate(reader.<LibroRequestDto>readValue(JSON));
+    }
+}
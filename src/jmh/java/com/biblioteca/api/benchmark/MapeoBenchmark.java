@@ -0,0 +1,55 @@
+package com.biblioteca.api.benchmark;
+
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.entity.AutorEntity;
+import com.biblioteca.api.entity.LibroEntity;
+import com.biblioteca.api.mapper.AutorMapper;
+import com.biblioteca.api.mapper.LibroMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → ResponseDto en los mappers (incluye la concatenación
+ * del nombre completo del autor en LibroMapper).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoBenchmark {
+
+    private final LibroMapper libroMapper = new LibroMapper();
+    private final AutorMapper autorMapper = new AutorMapper();
+
+    private AutorEntity autor;
+    private LibroEntity libro;
+
+    @Setup
+    public void preparar() {
+        autor = Datos.autor();
+        libro = Datos.libro(autor, 1L);
+    }
+
+    @Benchmark
+    public LibroResponseDto libroToResponse() {
+        return libroMapper.toResponse(libro);
+    }
+
+    @Benchmark
+    public AutorResponseDto autorToResponse() {
+        return autorMapper.toResponse(autor);
+    }
+}
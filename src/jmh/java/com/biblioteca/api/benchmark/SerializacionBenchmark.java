@@ -0,0 +1,64 @@
+package com.biblioteca.api.benchmark;
+
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialización JSON de respuestas con la configuración de la aplicación
+ * (SNAKE_CASE + non_null): un libro y una página completa.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    @Param({"20", "100"})
+    private int tamanioPagina;
+
+    private ObjectWriter writer;
+    private LibroResponseDto libro;
+    private Page<LibroResponseDto> pagina;
+
+    @Setup
+    public void preparar() {
+        writer = Datos.objectMapper().writer();
+        libro = Datos.libroResponse(1L);
+
+        List<LibroResponseDto> contenido = LongStream.rangeClosed(1, tamanioPagina)
+                .mapToObj(Datos::libroResponse)
+                .toList();
+        pagina = new PageImpl<>(contenido, PageRequest.of(0, tamanioPagina), 10_000);
+    }
+
+    @Benchmark
+    public byte[] libro() throws JsonProcessingException {
+        return writer.writeValueAsBytes(libro);
+    }
+
+    @Benchmark
+    public byte[] paginaLibros() throws JsonProcessingException {
+        return writer.writeValueAsBytes(pagina);
+    }
+}
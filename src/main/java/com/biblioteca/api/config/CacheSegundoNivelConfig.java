@@ -0,0 +1,65 @@
+package com.biblioteca.api.config;
+
+import com.biblioteca.api.entity.AutorEntity;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache sobre Caffeine).
+ *
+ * Las regiones se crean aquí, acotadas por tamaño y TTL
+ * (app.cache.segundo-nivel.*); Hibernate falla al arrancar si una entidad
+ * o consulta cacheada pide una región que no está declarada, así ninguna
+ * queda sin límite. La región de timestamps no expira: es la que invalida
+ * las consultas cacheadas cuando cambia una tabla.
+ *
+ * Cada contexto usa su propio CacheManager (URI única): los contextos de
+ * test que conviven en la JVM no comparten regiones.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Bean(destroyMethod = "close")
+    CacheManager cacheSegundoNivel(
+            @Value("${app.cache.segundo-nivel.maximo:10000}") long maximo,
+            @Value("${app.cache.segundo-nivel.ttl:30m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("biblioteca-segundo-nivel-" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+
+        cacheManager.createCache(AutorEntity.REGION_CACHE, acotada(maximo, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, acotada(maximo, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer regionesSegundoNivel(CacheManager cacheSegundoNivel) {
+        return propiedades -> {
+            propiedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+            propiedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> acotada(long maximo, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setMaximumSize(OptionalLong.of(maximo));
+        configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuracion.setStatisticsEnabled(true);
+        return configuracion;
+    }
+}
@@ -0,0 +1,61 @@
+package com.biblioteca.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Sentencias SQL por petición HTTP (biblioteca.sql.sentencias{method, uri}).
+ *
+ * Hibernate llama a inspect() al preparar cada sentencia; el conteo vive en
+ * el hilo de la petición y se registra al terminarla, con la plantilla de
+ * la ruta (/api/v1/libros/{id}) para acotar la cardinalidad.
+ * Lo que corre fuera del hilo (cuerpos en streaming) no se cuenta.
+ */
+class ContadorSentencias implements StatementInspector, HandlerInterceptor {
+
+    private static final ThreadLocal<int[]> SENTENCIAS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    ContadorSentencias(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = SENTENCIAS.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SENTENCIAS.set(new int[1]);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        int[] contador = SENTENCIAS.get();
+        SENTENCIAS.remove();
+        if (contador == null) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("biblioteca.sql.sentencias")
+                .description("Sentencias SQL preparadas por petición")
+                .baseUnit("sentencias")
+                .tag("method", request.getMethod())
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(contador[0]);
+    }
+}
@@ -0,0 +1,47 @@
+package com.biblioteca.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Métricas propias que Actuator no registra solo.
+ * Tiempos HTTP (http.server.requests), pool HikariCP (hikaricp.*) y
+ * estadísticas de Hibernate (hibernate.*) vienen de la autoconfiguración;
+ * los buckets de SLO se declaran en application.properties.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    ContadorSentencias contadorSentencias(MeterRegistry meterRegistry) {
+        return new ContadorSentencias(meterRegistry);
+    }
+
+    /**
+     * Registra el contador como StatementInspector; si otro customizer ya
+     * registró uno, los encadena en lugar de reemplazarlo.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer inspectorSentencias(ContadorSentencias contador) {
+        return propiedades -> propiedades.merge(AvailableSettings.STATEMENT_INSPECTOR, contador,
+                (previo, nuevo) -> previo instanceof StatementInspector otro
+                        ? (StatementInspector) sql -> contador.inspect(otro.inspect(sql))
+                        : nuevo);
+    }
+
+    @Bean
+    public WebMvcConfigurer metricasInterceptor(ContadorSentencias contador) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(contador).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas (@Scheduled).
+ * Se usa para reconciliar contra la BD los agregados mantenidos en memoria.
+ */
+@Configuration
+@EnableScheduling
+public class ProgramacionConfig {
+}
@@ -0,0 +1,67 @@
+package com.biblioteca.api.controller;
+
+import com.biblioteca.api.dto.comun.AnaliticaResumenDto;
+import com.biblioteca.api.dto.comun.AutoresPorNacionalidadDto;
+import com.biblioteca.api.dto.comun.LibrosPorAnioDto;
+import com.biblioteca.api.dto.comun.PaginasGeneroDto;
+import com.biblioteca.api.service.AnaliticaCatalogo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST de analítica del catálogo.
+ * Responde desde el modelo columnar en memoria: nunca consulta la BD.
+ *
+ * Base path: /api/v1/analitica
+ */
+@RestController
+@RequestMapping("/api/v1/analitica")
+@RequiredArgsConstructor
+public class AnaliticaController {
+
+    private final AnaliticaCatalogo analiticaCatalogo;
+
+    // ==========================================
+    // GET - Estado del modelo (filas, memoria, última carga)
+    // ==========================================
+
+    @GetMapping
+    public ResponseEntity<AnaliticaResumenDto> resumen() {
+        return ResponseEntity.ok(analiticaCatalogo.resumen());
+    }
+
+    // ==========================================
+    // GET - Libros por año (?desde=&hasta=)
+    // ==========================================
+
+    @GetMapping("/libros/anios")
+    public ResponseEntity<LibrosPorAnioDto> librosPorAnio(
+            @RequestParam(required = false) Integer desde,
+            @RequestParam(required = false) Integer hasta) {
+        return ResponseEntity.ok(analiticaCatalogo.librosPorAnio(desde, hasta));
+    }
+
+    // ==========================================
+    // GET - Promedio de páginas por género
+    // ==========================================
+
+    @GetMapping("/libros/paginas-por-genero")
+    public ResponseEntity<List<PaginasGeneroDto>> paginasPorGenero() {
+        return ResponseEntity.ok(analiticaCatalogo.paginasPorGenero());
+    }
+
+    // ==========================================
+    // GET - Autores por nacionalidad
+    // ==========================================
+
+    @GetMapping("/autores/nacionalidades")
+    public ResponseEntity<AutoresPorNacionalidadDto> autoresPorNacionalidad() {
+        return ResponseEntity.ok(analiticaCatalogo.autoresPorNacionalidad());
+    }
+}
@@ -2,22 +2,32 @@ package com.biblioteca.api.controller;
 
 import com.biblioteca.api.dto.autor.AutorRequestDto;
 import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.autor.CampoAutor;
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.LoteResultadoDto;
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
 import com.biblioteca.api.dto.libro.LibroResponseDto;
 import com.biblioteca.api.service.AutorService;
+import com.biblioteca.api.service.CacheRespuestas;
 import com.biblioteca.api.service.LibroService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 /**
  * Controlador REST para el recurso Autor.
  * Expone endpoints CRUD + listado de libros por autor.
+ * Los GET responden ETag / Last-Modified y 304 si el cliente ya tiene la versión.
  *
  * Base path: /api/v1/autores
  */
@@ -28,6 +38,7 @@ public class AutorController {
 
     private final AutorService autorService;
     private final LibroService libroService;
+    private final CacheRespuestas cacheRespuestas;
 
     // ==========================================
     // POST - Crear autor
@@ -41,22 +52,78 @@ public class AutorController {
                 .body(autorService.crear(dto));
     }
 
+    // ==========================================
+    // POST - Crear autores en lote
+    // ==========================================
+
+    @PostMapping("/batch")
+    public ResponseEntity<LoteResultadoDto<AutorResponseDto>> crearLote(
+            @RequestBody List<AutorRequestDto> dtos) {
+        return ResponseEntity.ok(autorService.crearLote(dtos));
+    }
+
     // ==========================================
     // GET - Buscar autor por ID
+    // Validadores del valor servido (caché); sin caché, la versión primero
     // ==========================================
 
     @GetMapping("/{id}")
-    public ResponseEntity<AutorResponseDto> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(autorService.buscarPorId(id));
+    public ResponseEntity<AutorResponseDto> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (!cacheRespuestas.habilitada()) {
+            return Condicional.recurso(request, autorService.version(id), () -> autorService.buscarPorId(id));
+        }
+        AutorResponseDto autor = autorService.buscarPorId(id);
+        return Condicional.recurso(request, autor.updatedAt(), () -> autor);
     }
 
     // ==========================================
     // GET - Listar autores (paginado)
+    // ?fields=id,nombre,apellido (solo esas columnas)
     // ==========================================
 
     @GetMapping
-    public ResponseEntity<Page<AutorResponseDto>> listar(Pageable pageable) {
-        return ResponseEntity.ok(autorService.listar(pageable));
+    public ResponseEntity<Page<AutorResponseDto>> listar(
+            Pageable pageable, @RequestParam(required = false) String fields, WebRequest request) {
+        Page<AutorResponseDto> pagina = autorService.listar(pageable, CampoAutor.desde(fields));
+        return Condicional.listado(request, pagina, AutorResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Listar autores sin COUNT (?conteo=ninguno|cache|estimado)
+    // ==========================================
+
+    @GetMapping(params = {"conteo", "!ids"})
+    public ResponseEntity<PaginaDto<AutorResponseDto>> listarSinConteo(
+            @RequestParam String conteo, Pageable pageable,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        PaginaDto<AutorResponseDto> pagina = autorService.listar(
+                pageable, ModoConteo.desde(conteo), CampoAutor.desde(fields));
+        return Condicional.listado(request, pagina, AutorResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Buscar varios autores por ID (?ids=3,1,2)
+    // ==========================================
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<PorIdsDto<AutorResponseDto>> buscarPorIds(
+            @RequestParam List<Long> ids, WebRequest request) {
+        PorIdsDto<AutorResponseDto> resultado = autorService.buscarPorIds(ids);
+        return Condicional.listado(request, resultado, AutorResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Listar autores por cursor (keyset)
+    // ==========================================
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<AutorResponseDto>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort,
+            WebRequest request) {
+        CursorPageDto<AutorResponseDto> pagina = autorService.listarPorCursor(after, size, sort);
+        return Condicional.listado(request, pagina, AutorResponseDto::updatedAt, Condicional::version);
     }
 
     // ==========================================
@@ -81,11 +148,25 @@ public class AutorController {
     }
 
     // ==========================================
-    // GET - Libros de un autor
+    // DELETE - Soft Delete en lote (con sus libros)
+    // ==========================================
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<PorIdsDto<Long>> eliminarLote(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(autorService.eliminarLote(ids));
+    }
+
+    // ==========================================
+    // GET - Libros de un autor (por cursor)
     // ==========================================
 
     @GetMapping("/{id}/libros")
-    public ResponseEntity<List<LibroResponseDto>> listarLibros(@PathVariable Long id) {
-        return ResponseEntity.ok(libroService.listarPorAutor(id));
+    public ResponseEntity<CursorPageDto<LibroResponseDto>> listarLibros(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        CursorPageDto<LibroResponseDto> pagina = libroService.listarPorAutor(id, after, size);
+        return Condicional.listado(request, pagina, LibroResponseDto::updatedAt, Condicional::version);
     }
 }
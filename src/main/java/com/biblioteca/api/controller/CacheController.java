@@ -0,0 +1,33 @@
+package com.biblioteca.api.controller;
+
+import com.biblioteca.api.dto.comun.CacheEstadisticasDto;
+import com.biblioteca.api.service.CacheRespuestas;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST de solo lectura para observar la caché de respuestas.
+ *
+ * Base path: /api/v1/cache
+ */
+@RestController
+@RequestMapping("/api/v1/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheRespuestas cacheRespuestas;
+
+    // ==========================================
+    // GET - Contadores de aciertos / fallos / desalojos
+    // ==========================================
+
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<CacheEstadisticasDto>> estadisticas() {
+        return ResponseEntity.ok(cacheRespuestas.estadisticas());
+    }
+}
@@ -0,0 +1,137 @@
+package com.biblioteca.api.controller;
+
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional (ETag / Last-Modified) para los controladores.
+ *
+ * checkNotModified() evalúa If-None-Match / If-Modified-Since y deja
+ * ETag y Last-Modified en la respuesta; si no hubo cambios fija el 304
+ * y el método devuelve null (Spring no escribe cuerpo).
+ */
+final class Condicional {
+
+    private Condicional() {
+    }
+
+    /**
+     * Recurso individual. Con caché de respuestas, la versión es la guardada
+     * junto al valor servido, así el ETag nunca describe otro cuerpo; sin
+     * caché se consulta antes que el recurso y un 304 no carga la fila.
+     * En ambos casos un 304 no pasa por Jackson.
+     */
+    static <T> ResponseEntity<T> recurso(WebRequest request, LocalDateTime version, Supplier<T> cuerpo) {
+        String etag = '"' + Long.toHexString(nanos(version)) + '"';
+        if (request.checkNotModified(etag, millis(version))) {
+            return null;
+        }
+        return ResponseEntity.ok(cuerpo.get());
+    }
+
+    /**
+     * Listado: Last-Modified es el updatedAt más reciente del contenido y el
+     * ETag (débil) es un SHA-256 de la versión de cada elemento (ver
+     * version()) y de los metadatos de la página, para que una baja, un
+     * reordenamiento o un cambio de total también lo cambien.
+     * Ahorra la serialización y la transferencia, no la consulta.
+     */
+    static <E> ResponseEntity<Page<E>> listado(WebRequest request, Page<E> pagina,
+            Function<E, LocalDateTime> updatedAt, Function<E, String> version) {
+        return listado(request, pagina, pagina.getContent(), updatedAt, version,
+                pagina.getNumber(), pagina.getSize(), pagina.getSort(), pagina.getTotalElements());
+    }
+
+    static <E> ResponseEntity<PaginaDto<E>> listado(WebRequest request, PaginaDto<E> pagina,
+            Function<E, LocalDateTime> updatedAt, Function<E, String> version) {
+        return listado(request, pagina, pagina.content(), updatedAt, version,
+                pagina.page(), pagina.size(), pagina.hasNext(), pagina.totalElements(), pagina.tipoTotal());
+    }
+
+    static <E> ResponseEntity<CursorPageDto<E>> listado(WebRequest request, CursorPageDto<E> pagina,
+            Function<E, LocalDateTime> updatedAt, Function<E, String> version) {
+        return listado(request, pagina, pagina.content(), updatedAt, version,
+                pagina.size(), pagina.hasNext(), pagina.nextCursor());
+    }
+
+    static <E> ResponseEntity<PorIdsDto<E>> listado(WebRequest request, PorIdsDto<E> resultado,
+            Function<E, LocalDateTime> updatedAt, Function<E, String> version) {
+        return listado(request, resultado, resultado.content(), updatedAt, version,
+                resultado.solicitados(), resultado.faltantes());
+    }
+
+    /**
+     * Versión de un libro dentro de un listado: id y updatedAt, más el nombre
+     * del autor que embebe (renombrar al autor no toca el updatedAt del
+     * libro). Si ?fields= dejó fuera updatedAt, el elemento completo.
+     */
+    static String version(LibroResponseDto libro) {
+        return libro.updatedAt() == null
+                ? libro.toString()
+                : libro.id() + ":" + libro.updatedAt() + ":" + libro.autorNombreCompleto();
+    }
+
+    /** Versión de un autor dentro de un listado: id y updatedAt, o el elemento completo. */
+    static String version(AutorResponseDto autor) {
+        return autor.updatedAt() == null ? autor.toString() : autor.id() + ":" + autor.updatedAt();
+    }
+
+    private static <T, E> ResponseEntity<T> listado(WebRequest request, T cuerpo, List<E> contenido,
+            Function<E, LocalDateTime> updatedAt, Function<E, String> version, Object... metadatos) {
+        LocalDateTime masReciente = contenido.stream()
+                .map(updatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+
+        MessageDigest digest = sha256();
+        for (E elemento : contenido) {
+            digest.update((version.apply(elemento) + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(Arrays.toString(metadatos).getBytes(StandardCharsets.UTF_8));
+
+        String etag = "W/\"" + HexFormat.of().formatHex(digest.digest()) + '"';
+        long ultimaModificacion = masReciente == null ? -1 : millis(masReciente);
+        if (request.checkNotModified(etag, ultimaModificacion)) {
+            return null;
+        }
+        return ResponseEntity.ok(cuerpo);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todo JRE debe proveer SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long millis(LocalDateTime version) {
+        return version.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long nanos(LocalDateTime version) {
+        Instant instante = version.atZone(ZoneId.systemDefault()).toInstant();
+        return instante.getEpochSecond() * 1_000_000_000L + instante.getNano();
+    }
+}
@@ -0,0 +1,43 @@
+package com.biblioteca.api.controller;
+
+import com.biblioteca.api.dto.comun.AutorEstadisticasDto;
+import com.biblioteca.api.dto.comun.EstadisticasCatalogoDto;
+import com.biblioteca.api.service.EstadisticasCatalogo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST de estadísticas del catálogo.
+ * Responde desde los agregados en memoria: nunca consulta la BD.
+ *
+ * Base path: /api/v1/estadisticas
+ */
+@RestController
+@RequestMapping("/api/v1/estadisticas")
+@RequiredArgsConstructor
+public class EstadisticasController {
+
+    private final EstadisticasCatalogo estadisticasCatalogo;
+
+    // ==========================================
+    // GET - Libros por género y década
+    // ==========================================
+
+    @GetMapping
+    public ResponseEntity<EstadisticasCatalogoDto> catalogo() {
+        return ResponseEntity.ok(estadisticasCatalogo.catalogo());
+    }
+
+    // ==========================================
+    // GET - Libros y páginas de un autor
+    // ==========================================
+
+    @GetMapping("/autores/{id}")
+    public ResponseEntity<AutorEstadisticasDto> autor(@PathVariable Long id) {
+        return ResponseEntity.ok(estadisticasCatalogo.autor(id));
+    }
+}
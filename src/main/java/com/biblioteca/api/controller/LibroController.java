@@ -1,19 +1,42 @@
 package com.biblioteca.api.controller;
 
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.FormatoArchivo;
+import com.biblioteca.api.dto.comun.LoteResultadoDto;
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
+import com.biblioteca.api.dto.libro.CampoLibro;
+import com.biblioteca.api.dto.libro.ImportacionResultadoDto;
+import com.biblioteca.api.dto.libro.LibroFiltroDto;
 import com.biblioteca.api.dto.libro.LibroRequestDto;
 import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.dto.libro.LibroVersionadoDto;
+import com.biblioteca.api.service.CacheRespuestas;
+import com.biblioteca.api.service.ImportacionLibrosService;
 import com.biblioteca.api.service.LibroService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * Controlador REST para el recurso Libro.
  * Expone endpoints CRUD con paginación.
+ * Los GET responden ETag / Last-Modified y 304 si el cliente ya tiene la versión.
  *
  * Base path: /api/v1/libros
  */
@@ -23,6 +46,8 @@ import org.springframework.web.bind.annotation.*;
 public class LibroController {
 
     private final LibroService libroService;
+    private final ImportacionLibrosService importacionLibrosService;
+    private final CacheRespuestas cacheRespuestas;
 
     // ==========================================
     // POST - Crear libro
@@ -36,22 +61,121 @@ public class LibroController {
                 .body(libroService.crear(dto));
     }
 
+    // ==========================================
+    // POST - Crear libros en lote
+    // ==========================================
+
+    @PostMapping("/batch")
+    public ResponseEntity<LoteResultadoDto<LibroResponseDto>> crearLote(
+            @RequestBody List<LibroRequestDto> dtos) {
+        return ResponseEntity.ok(libroService.crearLote(dtos));
+    }
+
+    // ==========================================
+    // POST - Importar libros (CSV / NDJSON vía COPY)
+    // ==========================================
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportacionResultadoDto> importar(
+            @RequestParam(defaultValue = "csv") String formato,
+            InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionLibrosService.importar(FormatoArchivo.desde(formato), cuerpo));
+    }
+
     // ==========================================
     // GET - Buscar libro por ID
+    // Validadores del valor servido (caché); sin caché, la versión primero
     // ==========================================
 
     @GetMapping("/{id}")
-    public ResponseEntity<LibroResponseDto> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(libroService.buscarPorId(id));
+    public ResponseEntity<LibroResponseDto> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (!cacheRespuestas.habilitada()) {
+            return Condicional.recurso(request, libroService.version(id), () -> libroService.buscarPorId(id));
+        }
+        LibroVersionadoDto libro = libroService.buscarVersionado(id);
+        return Condicional.recurso(request, libro.version(), libro::libro);
     }
 
     // ==========================================
-    // GET - Listar libros (paginado)
+    // GET - Listar libros (paginado, filtros opcionales)
+    // ?genero=&anioDesde=&anioHasta=&paginasMin=&paginasMax=&autorId=
+    // ?fields=id,titulo,autor_nombre_completo (solo esas columnas)
     // ==========================================
 
     @GetMapping
-    public ResponseEntity<Page<LibroResponseDto>> listar(Pageable pageable) {
-        return ResponseEntity.ok(libroService.listar(pageable));
+    public ResponseEntity<Page<LibroResponseDto>> listar(
+            Pageable pageable, LibroFiltroDto filtro,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        Page<LibroResponseDto> pagina = libroService.listar(pageable, filtro, CampoLibro.desde(fields));
+        return Condicional.listado(request, pagina, LibroResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Listar libros sin COUNT (?conteo=ninguno|cache|estimado)
+    // ==========================================
+
+    @GetMapping(params = {"conteo", "!ids"})
+    public ResponseEntity<PaginaDto<LibroResponseDto>> listarSinConteo(
+            @RequestParam String conteo, Pageable pageable, LibroFiltroDto filtro,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        PaginaDto<LibroResponseDto> pagina = libroService.listar(
+                pageable, ModoConteo.desde(conteo), filtro, CampoLibro.desde(fields));
+        return Condicional.listado(request, pagina, LibroResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Buscar varios libros por ID (?ids=3,1,2)
+    // ==========================================
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<PorIdsDto<LibroResponseDto>> buscarPorIds(
+            @RequestParam List<Long> ids, WebRequest request) {
+        PorIdsDto<LibroResponseDto> resultado = libroService.buscarPorIds(ids);
+        return Condicional.listado(request, resultado, LibroResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Listar libros por cursor (keyset)
+    // ==========================================
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<LibroResponseDto>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort,
+            WebRequest request) {
+        CursorPageDto<LibroResponseDto> pagina = libroService.listarPorCursor(after, size, sort);
+        return Condicional.listado(request, pagina, LibroResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Búsqueda de texto completo (por relevancia)
+    // ==========================================
+
+    @GetMapping("/search")
+    public ResponseEntity<PaginaDto<LibroResponseDto>> buscar(
+            @RequestParam String q, Pageable pageable, WebRequest request) {
+        PaginaDto<LibroResponseDto> pagina = libroService.buscar(q, pageable);
+        return Condicional.listado(request, pagina, LibroResponseDto::updatedAt, Condicional::version);
+    }
+
+    // ==========================================
+    // GET - Exportar catálogo (NDJSON / CSV)
+    // ==========================================
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoArchivo archivo = FormatoArchivo.desde(formato);
+        StreamingResponseBody cuerpo = salida -> libroService.exportar(archivo, salida);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(archivo.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("libros." + archivo.getExtension())
+                        .build()
+                        .toString())
+                .body(cuerpo);
     }
 
     // ==========================================
@@ -74,4 +198,13 @@ public class LibroController {
         libroService.eliminar(id);
         return ResponseEntity.noContent().build();
     }
+
+    // ==========================================
+    // DELETE - Soft Delete en lote
+    // ==========================================
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<PorIdsDto<Long>> eliminarLote(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(libroService.eliminarLote(ids));
+    }
 }
@@ -0,0 +1,53 @@
+package com.biblioteca.api.controller;
+
+import com.biblioteca.api.dto.comun.IndiceEstadisticasDto;
+import com.biblioteca.api.dto.comun.SugerenciaDto;
+import com.biblioteca.api.service.IndiceSugerencias;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST de autocompletado (títulos y autores).
+ * Responde desde el índice en memoria: nunca consulta la BD.
+ *
+ * Base path: /api/v1/suggest
+ */
+@RestController
+@RequestMapping("/api/v1/suggest")
+@RequiredArgsConstructor
+public class SugerenciaController {
+
+    private static final int LIMITE_MAXIMO = 50;
+
+    private final IndiceSugerencias indiceSugerencias;
+
+    // ==========================================
+    // GET - Sugerencias por prefijo (?prefix=&tipo=libro|autor&limit=)
+    // ==========================================
+
+    @GetMapping
+    public ResponseEntity<List<SugerenciaDto>> sugerir(
+            @RequestParam String prefix,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(indiceSugerencias.sugerir(prefix, tipo, Math.clamp(limit, 1, LIMITE_MAXIMO)));
+    }
+
+    // ==========================================
+    // GET - Tamaño en memoria del índice
+    // ==========================================
+
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<IndiceEstadisticasDto>> estadisticas() {
+        return ResponseEntity.ok(indiceSugerencias.estadisticas());
+    }
+}
@@ -0,0 +1,29 @@
+package com.biblioteca.api.dto.autor;
+
+import com.biblioteca.api.dto.comun.Campos;
+
+import java.util.Set;
+
+/**
+ * Campos de AutorResponseDto que se pueden pedir con ?fields=.
+ * Los no pedidos quedan en null y Jackson los omite (non_null).
+ */
+public enum CampoAutor {
+
+    ID,
+    NOMBRE,
+    APELLIDO,
+    NACIONALIDAD,
+    FECHA_NACIMIENTO,
+    ACTIVO,
+    CREATED_AT,
+    UPDATED_AT;
+
+    public static Set<CampoAutor> desde(String valor) {
+        return Campos.desde(valor, CampoAutor.class);
+    }
+
+    public static boolean todos(Set<CampoAutor> campos) {
+        return Campos.todos(campos, CampoAutor.class);
+    }
+}
@@ -0,0 +1,16 @@
+package com.biblioteca.api.dto.comun;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de salida con el estado del modelo columnar de analítica.
+ *
+ * - bytes: memoria reservada por columnas, bitsets y diccionarios.
+ * - cargado: última recarga completa desde la BD.
+ */
+public record AnaliticaResumenDto(
+        long libros,
+        long autores,
+        long bytes,
+        LocalDateTime cargado) {
+}
@@ -0,0 +1,10 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * DTO de salida con los libros activos y el total de páginas de un autor.
+ */
+public record AutorEstadisticasDto(
+        Long autorId,
+        long libros,
+        long paginas) {
+}
@@ -0,0 +1,12 @@
+package com.biblioteca.api.dto.comun;
+
+import java.util.Map;
+
+/**
+ * DTO de salida con los autores activos por nacionalidad.
+ * Los autores sin nacionalidad se agrupan bajo "sin_dato".
+ */
+public record AutoresPorNacionalidadDto(
+        long autores,
+        Map<String, Long> porNacionalidad) {
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * DTO de salida con los contadores de una caché de respuestas.
+ *
+ * - desalojos: entradas expulsadas por tamaño o expiradas por TTL.
+ * - invalidaciones: entradas quitadas por escrituras (actualizar, eliminar...).
+ */
+public record CacheEstadisticasDto(
+        String cache,
+        long tamanio,
+        long aciertos,
+        long fallos,
+        double tasaAciertos,
+        long desalojos,
+        long invalidaciones) {
+}
@@ -0,0 +1,55 @@
+package com.biblioteca.api.dto.comun;
+
+import com.biblioteca.api.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parámetro "fields" de los listados (?fields=id,titulo,autor_nombre_completo).
+ *
+ * Cada constante del enum es un campo del DTO de respuesta con su nombre
+ * JSON en mayúsculas (autor_nombre_completo → AUTOR_NOMBRE_COMPLETO). Sin
+ * parámetro se devuelven todos los campos.
+ */
+public final class Campos {
+
+    private Campos() {
+    }
+
+    public static <E extends Enum<E>> Set<E> desde(String valor, Class<E> tipo) {
+        if (valor == null) {
+            return EnumSet.allOf(tipo);
+        }
+        Set<E> campos = EnumSet.noneOf(tipo);
+        for (String nombre : valor.split(",")) {
+            if (nombre.isBlank()) {
+                continue;
+            }
+            try {
+                campos.add(Enum.valueOf(tipo, nombre.strip().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Campo no soportado: '" + nombre.strip()
+                        + "'. Valores válidos: " + validos(tipo));
+            }
+        }
+        if (campos.isEmpty()) {
+            throw new BadRequestException("fields no puede estar vacío. Valores válidos: " + validos(tipo));
+        }
+        return campos;
+    }
+
+    /** true si se piden todos los campos: el listado usa la proyección completa. */
+    public static <E extends Enum<E>> boolean todos(Set<E> campos, Class<E> tipo) {
+        return campos.size() == tipo.getEnumConstants().length;
+    }
+
+    private static String validos(Class<? extends Enum<?>> tipo) {
+        return Arrays.stream(tipo.getEnumConstants())
+                .map(campo -> campo.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,14 @@
+package com.biblioteca.api.dto.comun;
+
+import java.util.List;
+
+/**
+ * DTO de salida para listados paginados por cursor (keyset).
+ * nextCursor es opaco: el cliente solo lo reenvía en el parámetro "after".
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
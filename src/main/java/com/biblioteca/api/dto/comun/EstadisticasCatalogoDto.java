@@ -0,0 +1,19 @@
+package com.biblioteca.api.dto.comun;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO de salida con los agregados del catálogo (solo libros activos).
+ *
+ * - porDecada: clave = primer año de la década ("1990").
+ * - Los libros sin género o sin año se agrupan bajo "sin_dato".
+ * - reconciliado: última vez que los agregados se recalcularon desde la BD.
+ */
+public record EstadisticasCatalogoDto(
+        long libros,
+        int autoresConLibros,
+        Map<String, Long> porGenero,
+        Map<String, Long> porDecada,
+        LocalDateTime reconciliado) {
+}
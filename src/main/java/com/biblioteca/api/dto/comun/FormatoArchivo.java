@@ -0,0 +1,40 @@
+package com.biblioteca.api.dto.comun;
+
+import com.biblioteca.api.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Formatos de archivo soportados por la exportación del catálogo.
+ * Se recibe en el parámetro "formato" (ndjson | csv).
+ */
+public enum FormatoArchivo {
+
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv;charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    FormatoArchivo(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static FormatoArchivo desde(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Formato no soportado: '" + valor
+                    + "'. Valores válidos: ndjson, csv");
+        }
+    }
+}
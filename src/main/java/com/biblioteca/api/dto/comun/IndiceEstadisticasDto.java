@@ -0,0 +1,15 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * DTO de salida con el tamaño en memoria de un índice de sugerencias.
+ *
+ * - bytes / bytesPorEntrada: estimación de la parte compacta (arreglos).
+ * - pendientes: altas y bajas aún no fusionadas en los arreglos.
+ */
+public record IndiceEstadisticasDto(
+        String indice,
+        long entradas,
+        long bytes,
+        double bytesPorEntrada,
+        long pendientes) {
+}
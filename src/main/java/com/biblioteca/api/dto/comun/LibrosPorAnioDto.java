@@ -0,0 +1,16 @@
+package com.biblioteca.api.dto.comun;
+
+import java.util.Map;
+
+/**
+ * DTO de salida con los libros activos por año de publicación en un rango.
+ *
+ * - desde / hasta: el rango pedido (null = sin ese extremo).
+ * - porAnio: solo los años con libros, en orden.
+ */
+public record LibrosPorAnioDto(
+        Integer desde,
+        Integer hasta,
+        long libros,
+        Map<Integer, Long> porAnio) {
+}
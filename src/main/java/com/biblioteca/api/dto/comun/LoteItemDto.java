@@ -0,0 +1,25 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * Resultado de un ítem dentro de una creación en lote.
+ * indice es la posición del ítem en el arreglo recibido (base 0).
+ */
+public record LoteItemDto<T>(
+        int indice,
+        Estado estado,
+        T recurso,
+        String error) {
+
+    public enum Estado {
+        CREADO,
+        RECHAZADO
+    }
+
+    public static <T> LoteItemDto<T> creado(int indice, T recurso) {
+        return new LoteItemDto<>(indice, Estado.CREADO, recurso, null);
+    }
+
+    public static <T> LoteItemDto<T> rechazado(int indice, String error) {
+        return new LoteItemDto<>(indice, Estado.RECHAZADO, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.biblioteca.api.dto.comun;
+
+import java.util.List;
+
+/**
+ * DTO de salida de una creación en lote: totales + resultado por ítem,
+ * en el mismo orden en que llegaron.
+ */
+public record LoteResultadoDto<T>(
+        int total,
+        int creados,
+        int rechazados,
+        List<LoteItemDto<T>> items) {
+
+    public static <T> LoteResultadoDto<T> de(List<LoteItemDto<T>> items) {
+        int creados = (int) items.stream()
+                .filter(item -> item.estado() == LoteItemDto.Estado.CREADO)
+                .count();
+        return new LoteResultadoDto<>(items.size(), creados, items.size() - creados, items);
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.api.dto.comun;
+
+import com.biblioteca.api.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Modo de cálculo del total en listados sin COUNT por petición.
+ * Se recibe en el parámetro "conteo" (ninguno | cache | estimado).
+ */
+public enum ModoConteo {
+
+    /** Solo hasNext: ningún COUNT. */
+    NINGUNO,
+
+    /** COUNT exacto servido desde una caché de vida corta. */
+    CACHE,
+
+    /** Estimación de las estadísticas de PostgreSQL (pg_class.reltuples). */
+    ESTIMADO;
+
+    public static ModoConteo desde(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Modo de conteo no soportado: '" + valor
+                    + "'. Valores válidos: ninguno, cache, estimado");
+        }
+    }
+}
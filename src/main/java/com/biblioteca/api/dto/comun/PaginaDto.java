@@ -0,0 +1,28 @@
+package com.biblioteca.api.dto.comun;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * DTO de salida para listados sin COUNT por petición (Slice).
+ * totalElements y tipoTotal solo se incluyen si el cliente pidió un total.
+ */
+public record PaginaDto<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext,
+        Long totalElements,
+        TipoTotal tipoTotal) {
+
+    public static <T> PaginaDto<T> de(Slice<T> slice, Long totalElements, TipoTotal tipoTotal) {
+        return new PaginaDto<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext(),
+                totalElements,
+                tipoTotal);
+    }
+}
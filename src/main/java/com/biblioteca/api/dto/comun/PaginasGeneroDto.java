@@ -0,0 +1,12 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * DTO de salida con los libros activos de un género y su promedio de páginas.
+ * El promedio ignora los libros sin páginas (null si ninguno las tiene);
+ * los libros sin género se agrupan bajo "sin_dato".
+ */
+public record PaginasGeneroDto(
+        String genero,
+        long libros,
+        Double promedioPaginas) {
+}
@@ -0,0 +1,54 @@
+package com.biblioteca.api.dto.comun;
+
+import com.biblioteca.api.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * DTO de salida de una lectura por varios ids (?ids=3,1,2).
+ * content respeta el orden pedido; los ids inexistentes van en faltantes
+ * en lugar de fallar toda la petición.
+ */
+public record PorIdsDto<T>(
+        int solicitados,
+        int encontrados,
+        List<T> content,
+        List<Long> faltantes) {
+
+    public static final int MAXIMO = 100;
+
+    /**
+     * Ids sin repetir, en el orden de llegada. Rechaza listas vacías o
+     * de más de MAXIMO ids.
+     */
+    public static List<Long> distintos(List<Long> ids) {
+        List<Long> distintos = ids == null
+                ? List.of()
+                : List.copyOf(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+        if (distintos.isEmpty()) {
+            throw new BadRequestException("El parámetro ids es obligatorio");
+        }
+        if (distintos.size() > MAXIMO) {
+            throw new BadRequestException("Se admiten hasta " + MAXIMO + " ids por petición");
+        }
+        return distintos;
+    }
+
+    public static <T> PorIdsDto<T> de(List<Long> ids, Map<Long, T> porId) {
+        List<T> contenido = new ArrayList<>(porId.size());
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            T valor = porId.get(id);
+            if (valor != null) {
+                contenido.add(valor);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        return new PorIdsDto<>(ids.size(), contenido.size(), contenido, faltantes);
+    }
+}
@@ -0,0 +1,11 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * DTO de salida para autocompletado.
+ * tipo: "libro" (texto = título) o "autor" (texto = "apellido, nombre").
+ */
+public record SugerenciaDto(
+        String tipo,
+        Long id,
+        String texto) {
+}
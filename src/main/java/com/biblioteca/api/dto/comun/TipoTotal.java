@@ -0,0 +1,16 @@
+package com.biblioteca.api.dto.comun;
+
+/**
+ * Indica al cliente qué tan fiable es el total devuelto en PaginaDto.
+ */
+public enum TipoTotal {
+
+    /** Conteo exacto en el momento de la petición. */
+    EXACTO,
+
+    /** Conteo exacto, pero puede tener unos segundos de antigüedad. */
+    CACHEADO,
+
+    /** Aproximación a partir de las estadísticas del planificador. */
+    ESTIMADO
+}
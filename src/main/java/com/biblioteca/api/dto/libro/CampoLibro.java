@@ -0,0 +1,34 @@
+package com.biblioteca.api.dto.libro;
+
+import com.biblioteca.api.dto.comun.Campos;
+
+import java.util.Set;
+
+/**
+ * Campos de LibroResponseDto que se pueden pedir con ?fields=.
+ * Los no pedidos quedan en null y Jackson los omite (non_null).
+ */
+public enum CampoLibro {
+
+    ID,
+    TITULO,
+    ISBN,
+    GENERO,
+    ANIO_PUBLICACION,
+    NUM_PAGINAS,
+    ACTIVO,
+    /** La FK de libros: no requiere JOIN con autores. */
+    AUTOR_ID,
+    /** Único campo que requiere el JOIN con autores. */
+    AUTOR_NOMBRE_COMPLETO,
+    CREATED_AT,
+    UPDATED_AT;
+
+    public static Set<CampoLibro> desde(String valor) {
+        return Campos.desde(valor, CampoLibro.class);
+    }
+
+    public static boolean todos(Set<CampoLibro> campos) {
+        return Campos.todos(campos, CampoLibro.class);
+    }
+}
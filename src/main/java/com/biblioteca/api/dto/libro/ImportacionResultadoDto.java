@@ -0,0 +1,23 @@
+package com.biblioteca.api.dto.libro;
+
+import java.util.List;
+
+/**
+ * DTO de salida de una importación masiva de libros.
+ * Las filas rechazadas se detallan en "errores" (hasta un máximo);
+ * "rechazadas" siempre refleja el total.
+ */
+public record ImportacionResultadoDto(
+        long leidas,
+        long insertadas,
+        long actualizadas,
+        long rechazadas,
+        List<ErrorFila> errores,
+        boolean erroresTruncados) {
+
+    /**
+     * Fila rechazada: número de fila de datos (base 1) y motivo.
+     */
+    public record ErrorFila(long fila, String motivo) {
+    }
+}
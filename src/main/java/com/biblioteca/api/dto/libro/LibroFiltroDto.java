@@ -0,0 +1,22 @@
+package com.biblioteca.api.dto.libro;
+
+/**
+ * Filtros opcionales del listado de libros (parámetros de GET /api/v1/libros).
+ * Cada campo null no filtra; los rangos son inclusivos y admiten un solo extremo.
+ *
+ * ?genero=Novela&anioDesde=1960&anioHasta=1979&paginasMin=100&paginasMax=400&autorId=3
+ */
+public record LibroFiltroDto(
+        String genero,
+        Integer anioDesde,
+        Integer anioHasta,
+        Integer paginasMin,
+        Integer paginasMax,
+        Long autorId) {
+
+    /** true si no llegó ningún filtro: el listado usa la consulta sin filtros. */
+    public boolean vacio() {
+        return genero == null && anioDesde == null && anioHasta == null
+                && paginasMin == null && paginasMax == null && autorId == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.biblioteca.api.dto.libro;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta de un libro junto con su versión para GET condicional: el
+ * updatedAt más reciente entre el libro y su autor (la respuesta embebe el
+ * nombre del autor). Es lo que guarda la caché de respuestas, así ETag y
+ * Last-Modified salen del mismo valor que se sirve.
+ */
+public record LibroVersionadoDto(LibroResponseDto libro, LocalDateTime version) {
+
+    /** Constructor plano para la proyección JPQL (no admite "new" anidados). */
+    public LibroVersionadoDto(Long id, String titulo, String isbn, String genero, Integer anioPublicacion,
+                              Integer numPaginas, Boolean activo, Long autorId, String autorNombreCompleto,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime autorUpdatedAt) {
+        this(new LibroResponseDto(id, titulo, isbn, genero, anioPublicacion, numPaginas, activo,
+                        autorId, autorNombreCompleto, createdAt, updatedAt),
+                autorUpdatedAt != null && autorUpdatedAt.isAfter(updatedAt) ? autorUpdatedAt : updatedAt);
+    }
+}
@@ -2,6 +2,9 @@ package com.biblioteca.api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,9 +21,18 @@ import java.util.List;
  * - @NoArgsConstructor(PROTECTED): JPA lo necesita, pero no lo exponemos.
  * - @AllArgsConstructor(PRIVATE): requerido por @Builder, pero restringido.
  * - Sin @Setter: mutaciones controladas vía métodos de negocio.
+ * - Caché de segundo nivel (read-write): se lee mucho más de lo que se
+ *   escribe (findById al crear libros, inicialización de LibroEntity.autor).
+ *   Las bajas por conjunto son un UPDATE JPQL, que Hibernate registra
+ *   sobre la región.
+ * - @DynamicUpdate: el UPDATE solo lleva las columnas modificadas; una
+ *   copia cacheada desactualizada no puede reescribir activo.
  */
 @Entity
 @Table(name = "autores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AutorEntity.REGION_CACHE)
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -28,8 +40,16 @@ import java.util.List;
 @Builder
 public class AutorEntity {
 
+    /** Región de la caché de segundo nivel (declarada en CacheSegundoNivelConfig). */
+    public static final String REGION_CACHE = "autores";
+
+    /**
+     * Secuencia con asignación pooled (50 ids por nextval): a diferencia de
+     * IDENTITY, permite a Hibernate agrupar los INSERT en batches JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "autores_seq")
+    @SequenceGenerator(name = "autores_seq", sequenceName = "autores_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
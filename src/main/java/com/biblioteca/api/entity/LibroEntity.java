@@ -25,8 +25,13 @@ import java.time.LocalDateTime;
 @Builder
 public class LibroEntity {
 
+    /**
+     * Secuencia con asignación pooled (50 ids por nextval): a diferencia de
+     * IDENTITY, permite a Hibernate agrupar los INSERT en batches JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "libros_seq")
+    @SequenceGenerator(name = "libros_seq", sequenceName = "libros_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
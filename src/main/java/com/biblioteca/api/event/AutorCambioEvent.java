@@ -0,0 +1,44 @@
+package com.biblioteca.api.event;
+
+import com.biblioteca.api.entity.AutorEntity;
+
+import java.util.Objects;
+
+/**
+ * Evento de dominio: un autor fue creado, actualizado o desactivado.
+ *
+ * Igual que LibroCambioEvent, lleva el estado anterior y el actual
+ * (null en la creación) y se procesa tras el commit.
+ */
+public record AutorCambioEvent(Long autorId, Snapshot anterior, Snapshot actual) {
+
+    /**
+     * Valores del autor relevantes para los consumidores del evento.
+     */
+    public record Snapshot(String nombre, String apellido, String nacionalidad, boolean activo) {
+
+        public static Snapshot de(AutorEntity autor) {
+            return new Snapshot(autor.getNombre(), autor.getApellido(), autor.getNacionalidad(),
+                    Boolean.TRUE.equals(autor.getActivo()));
+        }
+
+        /** El mismo autor tras la baja lógica. */
+        public Snapshot desactivado() {
+            return new Snapshot(nombre, apellido, nacionalidad, false);
+        }
+    }
+
+    public static AutorCambioEvent creado(AutorEntity autor) {
+        return new AutorCambioEvent(autor.getId(), null, Snapshot.de(autor));
+    }
+
+    /**
+     * true si cambió el nombre completo, que los libros embeben
+     * como autorNombreCompleto.
+     */
+    public boolean cambioNombre() {
+        return anterior != null && actual != null
+                && (!Objects.equals(anterior.nombre(), actual.nombre())
+                        || !Objects.equals(anterior.apellido(), actual.apellido()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.biblioteca.api.event;
+
+import com.biblioteca.api.entity.LibroEntity;
+
+/**
+ * Evento de dominio: un libro fue creado, actualizado o desactivado.
+ *
+ * Lleva el estado anterior y el actual (null en la creación) para que
+ * cada consumidor decida qué le afecta sin volver a consultar la BD.
+ * Se publica dentro de la transacción; los consumidores lo procesan
+ * tras el commit (@TransactionalEventListener).
+ */
+public record LibroCambioEvent(Long libroId, Snapshot anterior, Snapshot actual) {
+
+    /**
+     * Valores del libro relevantes para los consumidores del evento.
+     */
+    public record Snapshot(String titulo, String genero, Integer anioPublicacion,
+            Integer numPaginas, Long autorId, boolean activo) {
+
+        public static Snapshot de(LibroEntity libro) {
+            return new Snapshot(libro.getTitulo(), libro.getGenero(), libro.getAnioPublicacion(),
+                    libro.getNumPaginas(), libro.getAutor().getId(), Boolean.TRUE.equals(libro.getActivo()));
+        }
+
+        /** El mismo libro tras la baja lógica. */
+        public Snapshot desactivado() {
+            return new Snapshot(titulo, genero, anioPublicacion, numPaginas, autorId, false);
+        }
+    }
+
+    public static LibroCambioEvent creado(LibroEntity libro) {
+        return new LibroCambioEvent(libro.getId(), null, Snapshot.de(libro));
+    }
+}
@@ -0,0 +1,11 @@
+package com.biblioteca.api.event;
+
+/**
+ * Evento de dominio: una importación masiva insertó o actualizó libros
+ * directamente por SQL, sin pasar por las entidades.
+ *
+ * No detalla qué filas cambiaron: los consumidores deben tratarlo como
+ * una invalidación general de lo que derivan de la tabla libros.
+ */
+public record LibrosImportadosEvent(long insertados, long actualizados) {
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.api.exception;
+
+/**
+ * Excepción lanzada cuando un parámetro de la petición no es válido
+ * (cursor corrupto, orden no soportado, etc.).
+ * Mapea a HTTP 400 Bad Request.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -1,13 +1,23 @@
 package com.biblioteca.api.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -17,13 +27,28 @@ import java.util.stream.Collectors;
  *
  * Excepciones manejadas:
  * - MethodArgumentNotValidException → 400 Bad Request
+ * - BadRequestException → 400 Bad Request
  * - ResourceNotFoundException → 404 Not Found
  * - DuplicateResourceException → 409 Conflict
+ * - DataIntegrityViolationException de una restricción única → 409 Conflict
  * - Exception genérica → 500 Internal Server Error
+ *
+ * Cada respuesta incrementa biblioteca.errores{estado, excepcion}.
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    /** Restricción única de la BD → recurso para DuplicateResourceException. */
+    private static final Map<String, String> RESTRICCIONES_UNICAS = Map.of(
+            "libros_isbn_key", "Libro (ISBN)",
+            "uq_autores_nombre", "Autor");
+
+    /** Valor duplicado en el detalle de PostgreSQL: "Key (col, ...)=(valor, ...) already exists." */
+    private static final Pattern VALOR_DUPLICADO = Pattern.compile("\\)=\\((.*)\\)");
+
+    private final MeterRegistry meterRegistry;
+
     // ==========================================
     // 400 - VALIDATION ERRORS (@Valid)
     // ==========================================
@@ -36,6 +61,8 @@ public class GlobalExceptionHandler {
                 .map(error -> error.getField() + ": " + error.getDefaultMessage())
                 .collect(Collectors.joining("; "));
 
+        contar(HttpStatus.BAD_REQUEST, ex);
+
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
                 HttpStatus.BAD_REQUEST.value(),
@@ -46,6 +73,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
+    // ==========================================
+    // 400 - PARÁMETROS INVÁLIDOS
+    // ==========================================
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequest(
+            BadRequestException ex, HttpServletRequest request) {
+
+        contar(HttpStatus.BAD_REQUEST, ex);
+
+        ApiError apiError = new ApiError(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Solicitud inválida",
+                ex.getMessage(),
+                request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
     // ==========================================
     // 404 - NOT FOUND
     // ==========================================
@@ -54,6 +101,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiError> handleNotFound(
             ResourceNotFoundException ex, HttpServletRequest request) {
 
+        contar(HttpStatus.NOT_FOUND, ex);
+
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
                 HttpStatus.NOT_FOUND.value(),
@@ -72,6 +121,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiError> handleDuplicate(
             DuplicateResourceException ex, HttpServletRequest request) {
 
+        contar(HttpStatus.CONFLICT, ex);
+
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
                 HttpStatus.CONFLICT.value(),
@@ -82,6 +133,44 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
     }
 
+    /**
+     * Duplicados detectados por la BD (ISBN, nombre + apellido de autor) en
+     * crear / actualizar, también entre peticiones concurrentes: se traducen
+     * a DuplicateResourceException según la restricción violada. Cualquier
+     * otra violación de integridad sigue siendo un 500.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleDataIntegrity(
+            DataIntegrityViolationException ex, HttpServletRequest request) {
+
+        DuplicateResourceException duplicado = duplicado(ex);
+        return duplicado != null ? handleDuplicate(duplicado, request) : handleGeneral(ex, request);
+    }
+
+    /**
+     * Busca el error de PostgreSQL en la cadena de causas (en un batch JDBC
+     * llega como getNextException) y arma la excepción si la restricción es
+     * una de RESTRICCIONES_UNICAS.
+     */
+    private static DuplicateResourceException duplicado(DataIntegrityViolationException ex) {
+        Throwable causa = ex;
+        while (causa != null) {
+            if (causa instanceof PSQLException psql && psql.getServerErrorMessage() != null) {
+                ServerErrorMessage error = psql.getServerErrorMessage();
+                String recurso = RESTRICCIONES_UNICAS.get(error.getConstraint());
+                if (recurso == null) {
+                    return null;
+                }
+                Matcher valor = VALOR_DUPLICADO.matcher(error.getDetail() != null ? error.getDetail() : "");
+                return new DuplicateResourceException(recurso, valor.find() ? valor.group(1) : "indicado");
+            }
+            causa = causa instanceof SQLException sql && sql.getNextException() != null
+                    ? sql.getNextException()
+                    : causa.getCause();
+        }
+        return null;
+    }
+
     // ==========================================
     // 500 - INTERNAL SERVER ERROR (Genérico)
     // ==========================================
@@ -90,6 +179,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiError> handleGeneral(
             Exception ex, HttpServletRequest request) {
 
+        contar(HttpStatus.INTERNAL_SERVER_ERROR, ex);
+
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -99,4 +190,13 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
     }
+
+    private void contar(HttpStatus estado, Exception ex) {
+        Counter.builder("biblioteca.errores")
+                .description("Respuestas de error por estado HTTP y tipo de excepción")
+                .tag("estado", String.valueOf(estado.value()))
+                .tag("excepcion", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
 }
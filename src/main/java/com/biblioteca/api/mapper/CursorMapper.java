@@ -0,0 +1,155 @@
+package com.biblioteca.api.mapper;
+
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mapper entre el cursor opaco de la API y la posición keyset de Spring Data.
+ *
+ * El cursor es Base64 (URL-safe) de un JSON con el campo de orden, la
+ * dirección y los valores (campo, id) de la última fila entregada.
+ * El orden viaja dentro del cursor para que las páginas siguientes
+ * no puedan cambiarlo a mitad del recorrido.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorMapper {
+
+    public static final int TAMANIO_MAXIMO = 100;
+
+    private static final String CAMPO_ID = "id";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Posición decodificada: orden (campo + id de desempate) y claves keyset.
+     */
+    public record Cursor(Sort sort, KeysetScrollPosition posicion) {
+    }
+
+    private record CursorJson(String campo, Sort.Direction direccion, Map<String, String> claves) {
+    }
+
+    /**
+     * Limita el tamaño solicitado al rango [1, TAMANIO_MAXIMO].
+     */
+    public static int acotar(int size) {
+        return Math.clamp(size, 1, TAMANIO_MAXIMO);
+    }
+
+    /**
+     * Convierte el parámetro "after" en una posición keyset.
+     * Sin cursor, arranca desde el inicio con el orden solicitado.
+     *
+     * @param campos campos ordenables → conversor desde su forma textual
+     */
+    public Cursor decode(String cursor, Sort sort, Map<String, Function<String, Object>> campos) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(ordenConDesempate(sort, campos), ScrollPosition.keyset());
+        }
+
+        try {
+            CursorJson datos = objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(cursor), CursorJson.class);
+            if (datos.campo() == null || datos.direccion() == null || datos.claves() == null) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            Sort orden = ordenConDesempate(Sort.by(datos.direccion(), datos.campo()), campos);
+
+            Map<String, Object> claves = new LinkedHashMap<>();
+            for (Sort.Order o : orden) {
+                String valor = datos.claves().get(o.getProperty());
+                if (valor == null) {
+                    throw new BadRequestException("Cursor inválido");
+                }
+                claves.put(o.getProperty(), campos.get(o.getProperty()).apply(valor));
+            }
+            return new Cursor(orden, ScrollPosition.forward(claves));
+        } catch (IOException | IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Convierte una ventana keyset en la respuesta de la API,
+     * generando el cursor de la última fila si hay más resultados.
+     */
+    public <E, D> CursorPageDto<D> toPage(Window<E> ventana, Sort sort, Function<E, D> mapper) {
+        List<D> contenido = ventana.stream().map(mapper).toList();
+
+        String siguiente = null;
+        if (ventana.hasNext() && !ventana.isEmpty()) {
+            KeysetScrollPosition ultima = (KeysetScrollPosition) ventana.positionAt(ventana.size() - 1);
+            siguiente = encode(sort, ultima.getKeys());
+        }
+        return new CursorPageDto<>(contenido, contenido.size(), ventana.hasNext(), siguiente);
+    }
+
+    /**
+     * Convierte filas leídas con LIMIT size + 1 en la respuesta de la API:
+     * la fila sobrante solo indica que hay más y no se entrega.
+     *
+     * @param claves valores keyset (campo de orden e id) de una fila
+     */
+    public <D> CursorPageDto<D> toPage(List<D> filas, int size, Sort sort, Function<D, Map<String, ?>> claves) {
+        boolean hayMas = filas.size() > size;
+        List<D> contenido = hayMas ? filas.subList(0, size) : filas;
+
+        String siguiente = hayMas ? encode(sort, claves.apply(contenido.get(contenido.size() - 1))) : null;
+        return new CursorPageDto<>(contenido, contenido.size(), hayMas, siguiente);
+    }
+
+    private String encode(Sort sort, Map<String, ?> valores) {
+        Sort.Order principal = sort.iterator().next();
+
+        Map<String, String> claves = new LinkedHashMap<>();
+        valores.forEach((campo, valor) -> claves.put(campo, String.valueOf(valor)));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(
+                    new CursorJson(principal.getProperty(), principal.getDirection(), claves));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo generar el cursor", ex);
+        }
+    }
+
+    /**
+     * Valida que el orden use un único campo soportado y le agrega el id
+     * como desempate, para que la tupla (campo, id) sea única y coincida
+     * con los índices compuestos.
+     */
+    private Sort ordenConDesempate(Sort sort, Map<String, Function<String, Object>> campos) {
+        List<Sort.Order> ordenes = sort.toList();
+        if (ordenes.size() > 1) {
+            throw new BadRequestException("El modo cursor admite un solo campo de orden");
+        }
+
+        Sort.Order principal = ordenes.isEmpty() ? Sort.Order.asc(CAMPO_ID) : ordenes.get(0);
+        if (!campos.containsKey(principal.getProperty())) {
+            throw new BadRequestException("Orden no soportado en modo cursor: '"
+                    + principal.getProperty() + "'. Campos válidos: " + campos.keySet());
+        }
+
+        Sort orden = Sort.by(principal.getDirection(), principal.getProperty());
+        return CAMPO_ID.equals(principal.getProperty())
+                ? orden
+                : orden.and(Sort.by(principal.getDirection(), CAMPO_ID));
+    }
+}
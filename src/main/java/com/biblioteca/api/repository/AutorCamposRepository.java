@@ -0,0 +1,22 @@
+package com.biblioteca.api.repository;
+
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.autor.CampoAutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
+
+/**
+ * Listados de autores activos proyectados solo a los campos pedidos
+ * (?fields=); el resto de AutorResponseDto queda en null.
+ */
+public interface AutorCamposRepository {
+
+    /** Página con COUNT, omitido si la página no se llena. */
+    Page<AutorResponseDto> findCamposActivos(Set<CampoAutor> campos, Pageable pageable);
+
+    /** Slice: pide size + 1 filas para saber si hay más, sin COUNT. */
+    Slice<AutorResponseDto> findSliceCamposActivos(Set<CampoAutor> campos, Pageable pageable);
+}
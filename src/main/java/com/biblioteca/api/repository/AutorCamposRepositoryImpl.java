@@ -0,0 +1,101 @@
+package com.biblioteca.api.repository;
+
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.autor.CampoAutor;
+import com.biblioteca.api.entity.AutorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria con la misma proyección que AutorRepository.SELECT_RESPONSE,
+ * limitada a los campos pedidos. Como los listados completos, usa la caché
+ * de consultas: cada combinación de campos es una entrada propia.
+ */
+class AutorCamposRepositoryImpl implements AutorCamposRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<AutorResponseDto> findCamposActivos(Set<CampoAutor> campos, Pageable pageable) {
+        return Paginado.pagina(consulta(campos, pageable.getSort()), pageable,
+                fila -> respuesta(fila, campos), this::contarActivos);
+    }
+
+    @Override
+    public Slice<AutorResponseDto> findSliceCamposActivos(Set<CampoAutor> campos, Pageable pageable) {
+        return Paginado.slice(consulta(campos, pageable.getSort()), pageable, fila -> respuesta(fila, campos));
+    }
+
+    private long contarActivos() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<AutorEntity> autor = query.from(AutorEntity.class);
+        query.select(cb.count(autor)).where(cb.isTrue(autor.get("activo")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult();
+    }
+
+    private TypedQuery<Tuple> consulta(Set<CampoAutor> campos, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AutorEntity> autor = query.from(AutorEntity.class);
+
+        List<Selection<?>> columnas = new ArrayList<>();
+        for (CampoAutor campo : campos) {
+            columnas.add(autor.get(atributo(campo)).alias(campo.name()));
+        }
+        query.multiselect(columnas);
+        query.where(cb.isTrue(autor.get("activo")));
+        query.orderBy(QueryUtils.toOrders(sort, autor, cb));
+        return entityManager.createQuery(query).setHint(HibernateHints.HINT_CACHEABLE, true);
+    }
+
+    private static String atributo(CampoAutor campo) {
+        return switch (campo) {
+            case ID -> "id";
+            case NOMBRE -> "nombre";
+            case APELLIDO -> "apellido";
+            case NACIONALIDAD -> "nacionalidad";
+            case FECHA_NACIMIENTO -> "fechaNacimiento";
+            case ACTIVO -> "activo";
+            case CREATED_AT -> "createdAt";
+            case UPDATED_AT -> "updatedAt";
+        };
+    }
+
+    private static AutorResponseDto respuesta(Tuple fila, Set<CampoAutor> campos) {
+        return new AutorResponseDto(
+                valor(fila, campos, CampoAutor.ID),
+                valor(fila, campos, CampoAutor.NOMBRE),
+                valor(fila, campos, CampoAutor.APELLIDO),
+                valor(fila, campos, CampoAutor.NACIONALIDAD),
+                valor(fila, campos, CampoAutor.FECHA_NACIMIENTO),
+                valor(fila, campos, CampoAutor.ACTIVO),
+                valor(fila, campos, CampoAutor.CREATED_AT),
+                valor(fila, campos, CampoAutor.UPDATED_AT));
+    }
+
+    /** Valor de la columna si se pidió el campo; null (omitido en el JSON) si no. */
+    @SuppressWarnings("unchecked")
+    private static <T> T valor(Tuple fila, Set<CampoAutor> campos, CampoAutor campo) {
+        return campos.contains(campo) ? (T) fila.get(campo.name()) : null;
+    }
+}
@@ -1,23 +1,163 @@
 package com.biblioteca.api.repository;
 
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.comun.SugerenciaDto;
 import com.biblioteca.api.entity.AutorEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA para la entidad AutorEntity.
  * Métodos derivados filtran solo registros activos (Soft Delete).
+ * Las lecturas de la API usan proyecciones directas a AutorResponseDto.
+ *
+ * Los listados de autores activos usan la caché de consultas de Hibernate:
+ * se invalidan solos cuando Hibernate escribe en autores, también en las
+ * bajas por conjunto (desactivar() es un UPDATE JPQL).
+ * Los listados con ?fields= están en AutorCamposRepository.
  */
 @Repository
-public interface AutorRepository extends JpaRepository<AutorEntity, Long> {
+public interface AutorRepository extends JpaRepository<AutorEntity, Long>, AutorCamposRepository {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AutorEntity> findByActivoTrue();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<AutorEntity> findByActivoTrue(Pageable pageable);
 
-    boolean existsByNombreAndApellido(String nombre, String apellido);
+    /**
+     * Claves "nombre|apellido" ya registradas para los apellidos dados,
+     * también de autores dados de baja (la regla de duplicados los cuenta).
+     * Filtra por apellido para aprovechar uq_autores_nombre (apellido, nombre)
+     * sin leer la tabla.
+     */
+    @Query("SELECT CONCAT(a.nombre, '|', a.apellido) FROM AutorEntity a WHERE a.apellido IN :apellidos")
+    Set<String> findClavesNombreByApellidoIn(@Param("apellidos") Collection<String> apellidos);
+
+    /**
+     * Ids del conjunto que corresponden a autores registrados (una sola consulta IN).
+     */
+    @Query("SELECT a.id FROM AutorEntity a WHERE a.id IN :ids")
+    Set<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * [id, nombre, apellido, nacionalidad] de los autores activos del conjunto,
+     * bloqueados (FOR UPDATE, en orden de id) hasta el fin de la transacción:
+     * son exactamente los que desactivar() da de baja a continuación.
+     */
+    @Query(value = "SELECT id, nombre, apellido, nacionalidad FROM autores "
+            + "WHERE id IN (:ids) AND activo ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> bloquearActivos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Desactiva los autores del conjunto en un solo UPDATE.
+     * Es JPQL y no nativo para que Hibernate lo vea: como toda operación
+     * masiva sobre AutorEntity, vacía su región de segundo nivel al ejecutarse
+     * y otra vez al terminar la transacción, e invalida las consultas
+     * cacheadas sobre autores. updatedAt se fija aquí porque la auditoría
+     * JPA no interviene.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AutorEntity a SET a.activo = false, a.updatedAt = :ahora WHERE a.id IN :ids")
+    int desactivar(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * "apellido, nombre" de autores activos para el índice de sugerencias.
+     * Cursor de solo avance; cerrar el Stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.biblioteca.api.dto.comun.SugerenciaDto('autor', a.id, CONCAT(a.apellido, ', ', a.nombre)) "
+            + "FROM AutorEntity a WHERE a.activo = true")
+    Stream<SugerenciaDto> streamSugerencias();
+
+    /**
+     * [id, nacionalidad] de autores activos en orden de id, para cargar el
+     * modelo columnar de AnaliticaCatalogo. Cerrar el Stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.nacionalidad FROM AutorEntity a WHERE a.activo = true ORDER BY a.id")
+    Stream<Object[]> streamColumnasActivos();
+
+    // ── Proyecciones a DTO (lecturas) ──
+
+    String SELECT_RESPONSE = "SELECT new com.biblioteca.api.dto.autor.AutorResponseDto("
+            + "a.id, a.nombre, a.apellido, a.nacionalidad, a.fechaNacimiento, a.activo, "
+            + "a.createdAt, a.updatedAt) "
+            + "FROM AutorEntity a";
+
+    @Query(SELECT_RESPONSE + " WHERE a.id = :id")
+    Optional<AutorResponseDto> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + " WHERE a.id IN :ids")
+    List<AutorResponseDto> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Versión del autor para GET condicional (solo updatedAt, sin armar el DTO).
+     */
+    @Query("SELECT a.updatedAt FROM AutorEntity a WHERE a.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = SELECT_RESPONSE + " WHERE a.activo = true",
+            countQuery = "SELECT COUNT(a) FROM AutorEntity a WHERE a.activo = true")
+    Page<AutorResponseDto> findResponsesActivos(Pageable pageable);
+
+    // ── Listado sin COUNT (Slice) y totales ──
+
+    /**
+     * Slice de autores activos: pide size + 1 filas para saber si hay más,
+     * sin el SELECT COUNT(*) que acompaña a cada Page.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + " WHERE a.activo = true")
+    Slice<AutorResponseDto> findSliceActivos(Pageable pageable);
+
+    long countByActivoTrue();
+
+    /**
+     * Estimación de autores activos a partir de las estadísticas del planificador:
+     * reltuples × frecuencia de activo = true en pg_stats. Si true no figura
+     * entre los valores más comunes (muy pocos activos), su frecuencia es lo
+     * que dejan los demás valores y los NULL.
+     * Devuelve un valor negativo si la tabla aún no fue analizada o no hay
+     * estadísticas de la columna activo.
+     */
+    @Query(value = "SELECT CASE "
+            + "WHEN c.reltuples < 0 OR s.most_common_vals IS NULL THEN -1 "
+            + "ELSE CAST(c.reltuples * COALESCE("
+            + "s.most_common_freqs[array_position(CAST(CAST(s.most_common_vals AS TEXT) AS BOOLEAN[]), TRUE)], "
+            + "GREATEST(1 - s.null_frac - (SELECT SUM(f) FROM unnest(s.most_common_freqs) f), 0)) AS BIGINT) END "
+            + "FROM pg_class c "
+            + "LEFT JOIN pg_stats s ON s.schemaname = current_schema() "
+            + "AND s.tablename = 'autores' AND s.attname = 'activo' "
+            + "WHERE c.oid = CAST('autores' AS regclass)",
+            nativeQuery = true)
+    long estimarActivos();
+
+    // ── Keyset (cursor) ──
+
+    Window<AutorEntity> findWindowByActivoTrue(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,28 @@
+package com.biblioteca.api.repository;
+
+import com.biblioteca.api.dto.libro.CampoLibro;
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.entity.LibroEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+/**
+ * Listados de libros con filtros dinámicos (Specification), proyectados a
+ * LibroResponseDto como las consultas @Query de LibroRepository.
+ * Solo se leen las columnas de los campos pedidos; el resto queda en null.
+ */
+public interface LibroFiltradoRepository {
+
+    /** Página con COUNT (con los mismos predicados), omitido si la página no se llena. */
+    Page<LibroResponseDto> findResponses(Specification<LibroEntity> filtro, Set<CampoLibro> campos, Pageable pageable);
+
+    /** Slice: pide size + 1 filas para saber si hay más, sin COUNT. */
+    Slice<LibroResponseDto> findSliceResponses(Specification<LibroEntity> filtro, Set<CampoLibro> campos,
+            Pageable pageable);
+
+    long contar(Specification<LibroEntity> filtro);
+}
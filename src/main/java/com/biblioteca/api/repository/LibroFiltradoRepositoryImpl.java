@@ -0,0 +1,115 @@
+package com.biblioteca.api.repository;
+
+import com.biblioteca.api.dto.libro.CampoLibro;
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.entity.LibroEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria con la misma proyección que LibroRepository.SELECT_RESPONSE,
+ * limitada a los campos pedidos: el SELECT solo lleva sus columnas y el
+ * JOIN con autores solo se agrega para autor_nombre_completo (autor_id es
+ * la FK de libros). Sin hidratar entidades.
+ */
+class LibroFiltradoRepositoryImpl implements LibroFiltradoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<LibroResponseDto> findResponses(Specification<LibroEntity> filtro, Set<CampoLibro> campos,
+            Pageable pageable) {
+        return Paginado.pagina(consulta(filtro, campos, pageable.getSort()), pageable,
+                fila -> respuesta(fila, campos), () -> contar(filtro));
+    }
+
+    @Override
+    public Slice<LibroResponseDto> findSliceResponses(Specification<LibroEntity> filtro, Set<CampoLibro> campos,
+            Pageable pageable) {
+        return Paginado.slice(consulta(filtro, campos, pageable.getSort()), pageable,
+                fila -> respuesta(fila, campos));
+    }
+
+    @Override
+    public long contar(Specification<LibroEntity> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<LibroEntity> libro = query.from(LibroEntity.class);
+        query.select(cb.count(libro)).where(filtro.toPredicate(libro, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private TypedQuery<Tuple> consulta(Specification<LibroEntity> filtro, Set<CampoLibro> campos, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<LibroEntity> libro = query.from(LibroEntity.class);
+
+        List<Selection<?>> columnas = new ArrayList<>();
+        for (CampoLibro campo : campos) {
+            columnas.add(columna(campo, libro, cb).alias(campo.name()));
+        }
+        query.multiselect(columnas);
+        query.where(filtro.toPredicate(libro, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, libro, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private static Expression<?> columna(CampoLibro campo, Root<LibroEntity> libro, CriteriaBuilder cb) {
+        return switch (campo) {
+            case ID -> libro.get("id");
+            case TITULO -> libro.get("titulo");
+            case ISBN -> libro.get("isbn");
+            case GENERO -> libro.get("genero");
+            case ANIO_PUBLICACION -> libro.get("anioPublicacion");
+            case NUM_PAGINAS -> libro.get("numPaginas");
+            case ACTIVO -> libro.get("activo");
+            case AUTOR_ID -> libro.get("autor").get("id");
+            case AUTOR_NOMBRE_COMPLETO -> {
+                Join<LibroEntity, ?> autor = libro.join("autor");
+                yield cb.concat(cb.concat(autor.<String>get("nombre"), " "), autor.<String>get("apellido"));
+            }
+            case CREATED_AT -> libro.get("createdAt");
+            case UPDATED_AT -> libro.get("updatedAt");
+        };
+    }
+
+    private static LibroResponseDto respuesta(Tuple fila, Set<CampoLibro> campos) {
+        return new LibroResponseDto(
+                valor(fila, campos, CampoLibro.ID),
+                valor(fila, campos, CampoLibro.TITULO),
+                valor(fila, campos, CampoLibro.ISBN),
+                valor(fila, campos, CampoLibro.GENERO),
+                valor(fila, campos, CampoLibro.ANIO_PUBLICACION),
+                valor(fila, campos, CampoLibro.NUM_PAGINAS),
+                valor(fila, campos, CampoLibro.ACTIVO),
+                valor(fila, campos, CampoLibro.AUTOR_ID),
+                valor(fila, campos, CampoLibro.AUTOR_NOMBRE_COMPLETO),
+                valor(fila, campos, CampoLibro.CREATED_AT),
+                valor(fila, campos, CampoLibro.UPDATED_AT));
+    }
+
+    /** Valor de la columna si se pidió el campo; null (omitido en el JSON) si no. */
+    @SuppressWarnings("unchecked")
+    private static <T> T valor(Tuple fila, Set<CampoLibro> campos, CampoLibro campo) {
+        return campos.contains(campo) ? (T) fila.get(campo.name()) : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.biblioteca.api.repository;
+
+import com.biblioteca.api.dto.libro.LibroFiltroDto;
+import com.biblioteca.api.entity.LibroEntity;
+import com.biblioteca.api.exception.BadRequestException;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Traduce LibroFiltroDto a una Specification sobre libros activos.
+ *
+ * Solo se agregan los predicados de los filtros presentes: el SQL de cada
+ * combinación lleva únicamente sus condiciones, con parámetros ligados.
+ * Los índices parciales de V4 cubren cada filtro; las combinaciones se
+ * resuelven con BitmapAnd entre ellos.
+ */
+public final class LibroFiltros {
+
+    private LibroFiltros() {
+    }
+
+    public static Specification<LibroEntity> activos(LibroFiltroDto filtro) {
+        validarRango("anioDesde", filtro.anioDesde(), "anioHasta", filtro.anioHasta());
+        validarRango("paginasMin", filtro.paginasMin(), "paginasMax", filtro.paginasMax());
+
+        Specification<LibroEntity> spec = (libro, query, cb) -> cb.isTrue(libro.get("activo"));
+        if (filtro.genero() != null && !filtro.genero().isBlank()) {
+            String genero = filtro.genero().strip();
+            spec = spec.and((libro, query, cb) -> cb.equal(libro.get("genero"), genero));
+        }
+        if (filtro.anioDesde() != null) {
+            spec = spec.and((libro, query, cb) ->
+                    cb.greaterThanOrEqualTo(libro.get("anioPublicacion"), filtro.anioDesde()));
+        }
+        if (filtro.anioHasta() != null) {
+            spec = spec.and((libro, query, cb) ->
+                    cb.lessThanOrEqualTo(libro.get("anioPublicacion"), filtro.anioHasta()));
+        }
+        if (filtro.paginasMin() != null) {
+            spec = spec.and((libro, query, cb) ->
+                    cb.greaterThanOrEqualTo(libro.get("numPaginas"), filtro.paginasMin()));
+        }
+        if (filtro.paginasMax() != null) {
+            spec = spec.and((libro, query, cb) ->
+                    cb.lessThanOrEqualTo(libro.get("numPaginas"), filtro.paginasMax()));
+        }
+        if (filtro.autorId() != null) {
+            // autor.id es la FK: compara autor_id sin JOIN
+            spec = spec.and((libro, query, cb) -> cb.equal(libro.get("autor").get("id"), filtro.autorId()));
+        }
+        return spec;
+    }
+
+    private static void validarRango(String nombreDesde, Integer desde, String nombreHasta, Integer hasta) {
+        if (desde != null && hasta != null && desde > hasta) {
+            throw new BadRequestException(nombreDesde + " (" + desde + ") no puede ser mayor que "
+                    + nombreHasta + " (" + hasta + ")");
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package com.biblioteca.api.repository;
 
+import com.biblioteca.api.dto.comun.SugerenciaDto;
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.dto.libro.LibroVersionadoDto;
 import com.biblioteca.api.entity.LibroEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA para la entidad LibroEntity.
  * Métodos derivados filtran solo registros activos (Soft Delete).
+ *
+ * Las lecturas de la API usan proyecciones directas a LibroResponseDto:
+ * el autor llega por JOIN en el mismo SELECT (sin N+1) y no se hidratan
+ * entidades en el contexto de persistencia.
+ * Los listados con filtros dinámicos o ?fields= están en LibroFiltradoRepository.
  */
 @Repository
-public interface LibroRepository extends JpaRepository<LibroEntity, Long> {
+public interface LibroRepository extends JpaRepository<LibroEntity, Long>, LibroFiltradoRepository {
 
     List<LibroEntity> findByActivoTrue();
 
@@ -21,5 +46,204 @@ public interface LibroRepository extends JpaRepository<LibroEntity, Long> {
 
     List<LibroEntity> findByAutorIdAndActivoTrue(Long autorId);
 
-    boolean existsByIsbn(String isbn);
+    /**
+     * ISBN del conjunto que ya están registrados (una sola consulta IN).
+     */
+    @Query("SELECT l.isbn FROM LibroEntity l WHERE l.isbn IN :isbns")
+    Set<String> findIsbnsExistentes(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * Ids del conjunto que corresponden a libros registrados (una sola consulta IN).
+     */
+    @Query("SELECT l.id FROM LibroEntity l WHERE l.id IN :ids")
+    Set<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // ── Bajas lógicas por conjunto ──
+
+    /** Columnas que devuelven las bajas: lo necesario para LibroCambioEvent.Snapshot. */
+    String RETURNING_BAJA = " RETURNING id, titulo, genero, anio_publicacion, num_paginas, autor_id";
+
+    /**
+     * Desactiva los libros activos del conjunto en un solo UPDATE, sin cargar
+     * entidades ni dirty checking. Devuelve [id, titulo, genero, anio,
+     * páginas, autorId] de cada fila afectada: los ids ausentes no existen
+     * o ya estaban inactivos. updated_at se fija aquí porque la auditoría
+     * JPA no interviene en sentencias por conjunto.
+     */
+    @Transactional
+    @Query(value = "UPDATE libros SET activo = false, updated_at = LOCALTIMESTAMP "
+            + "WHERE id IN (:ids) AND activo" + RETURNING_BAJA,
+            nativeQuery = true)
+    List<Object[]> desactivar(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Desactiva los libros activos de los autores dados (cascada de la baja
+     * de un autor). Mismas columnas que desactivar().
+     */
+    @Transactional
+    @Query(value = "UPDATE libros SET activo = false, updated_at = LOCALTIMESTAMP "
+            + "WHERE autor_id IN (:autorIds) AND activo" + RETURNING_BAJA,
+            nativeQuery = true)
+    List<Object[]> desactivarPorAutor(@Param("autorIds") Collection<Long> autorIds);
+
+    // ── Proyecciones a DTO (lecturas) ──
+
+    String SELECT_RESPONSE = "SELECT new com.biblioteca.api.dto.libro.LibroResponseDto("
+            + "l.id, l.titulo, l.isbn, l.genero, l.anioPublicacion, l.numPaginas, l.activo, "
+            + "a.id, CONCAT(a.nombre, ' ', a.apellido), l.createdAt, l.updatedAt) "
+            + "FROM LibroEntity l JOIN l.autor a";
+
+    /**
+     * Respuesta del libro con su versión (LibroVersionadoDto): lo que carga
+     * la caché de respuestas, en el mismo SELECT que el DTO.
+     */
+    String SELECT_VERSIONADO = "SELECT new com.biblioteca.api.dto.libro.LibroVersionadoDto("
+            + "l.id, l.titulo, l.isbn, l.genero, l.anioPublicacion, l.numPaginas, l.activo, "
+            + "a.id, CONCAT(a.nombre, ' ', a.apellido), l.createdAt, l.updatedAt, a.updatedAt) "
+            + "FROM LibroEntity l JOIN l.autor a";
+
+    @Query(SELECT_VERSIONADO + " WHERE l.id = :id")
+    Optional<LibroVersionadoDto> findVersionadoById(@Param("id") Long id);
+
+    @Query(SELECT_VERSIONADO + " WHERE l.id IN :ids")
+    List<LibroVersionadoDto> findVersionadosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Versión del libro para GET condicional cuando la caché de respuestas
+     * está desactivada: la misma que LibroVersionadoDto, en dos columnas por
+     * PK y sin armar el DTO.
+     */
+    @Query("SELECT CASE WHEN a.updatedAt > l.updatedAt THEN a.updatedAt ELSE l.updatedAt END "
+            + "FROM LibroEntity l JOIN l.autor a WHERE l.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    /**
+     * Página de libros activos proyectada a DTO.
+     * El COUNT se declara aparte para que no arrastre el JOIN con autores.
+     */
+    @Query(value = SELECT_RESPONSE + " WHERE l.activo = true",
+            countQuery = "SELECT COUNT(l) FROM LibroEntity l WHERE l.activo = true")
+    Page<LibroResponseDto> findResponsesActivos(Pageable pageable);
+
+    @Query(SELECT_RESPONSE + " WHERE l.id IN :ids")
+    List<LibroResponseDto> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Libros activos de un autor con id > despuesDe, por id (keyset).
+     * Parte del autor con LEFT JOIN: sin libros en el tramo devuelve una
+     * sola fila con los campos del libro en null, y si el autor no existe
+     * no devuelve filas. Existencia y página salen de la misma consulta.
+     */
+    @Query("SELECT new com.biblioteca.api.dto.libro.LibroResponseDto("
+            + "l.id, l.titulo, l.isbn, l.genero, l.anioPublicacion, l.numPaginas, l.activo, "
+            + "a.id, CONCAT(a.nombre, ' ', a.apellido), l.createdAt, l.updatedAt) "
+            + "FROM AutorEntity a "
+            + "LEFT JOIN LibroEntity l ON l.autor = a AND l.activo = true AND l.id > :despuesDe "
+            + "WHERE a.id = :autorId ORDER BY l.id")
+    List<LibroResponseDto> findResponsesActivosByAutorId(@Param("autorId") Long autorId,
+                                                         @Param("despuesDe") long despuesDe,
+                                                         Limit limit);
+
+    /**
+     * Recorrido completo de libros activos para exportación.
+     * Cursor de servidor de solo avance (requiere transacción abierta):
+     * PostgreSQL entrega las filas de a FETCH_SIZE, sin cargar el resultado
+     * entero. Al ser proyección a DTO, el contexto de persistencia no retiene
+     * nada. El Stream debe cerrarse (try-with-resources).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + " WHERE l.activo = true ORDER BY l.id")
+    Stream<LibroResponseDto> streamActivos();
+
+    /**
+     * Títulos de libros activos para construir el índice de sugerencias.
+     * Cursor de solo avance, como streamActivos(); cerrar el Stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.biblioteca.api.dto.comun.SugerenciaDto('libro', l.id, l.titulo) "
+            + "FROM LibroEntity l WHERE l.activo = true")
+    Stream<SugerenciaDto> streamSugerencias();
+
+    // ── Búsqueda de texto completo ──
+
+    /**
+     * Ids de libros activos que coinciden con la consulta, por relevancia.
+     * Usa la columna busqueda (tsvector mantenido por triggers, índice GIN
+     * idx_libros_busqueda) y la configuración es_unaccent: stemming español
+     * y sin acentos. La consulta admite la sintaxis de buscador web
+     * ("frase exacta", -excluir, OR). Slice: sin COUNT.
+     */
+    @Query(value = "SELECT l.id FROM libros l, websearch_to_tsquery('es_unaccent', :q) consulta "
+            + "WHERE l.activo AND l.busqueda @@ consulta "
+            + "ORDER BY ts_rank_cd(l.busqueda, consulta) DESC, l.id",
+            nativeQuery = true)
+    Slice<Long> buscarIdsPorTexto(@Param("q") String q, Pageable pageable);
+
+    // ── Agregados del catálogo (reconciliación de EstadisticasCatalogo) ──
+
+    /** [genero, libros] de libros activos. */
+    @Query("SELECT l.genero, COUNT(l) FROM LibroEntity l WHERE l.activo = true GROUP BY l.genero")
+    List<Object[]> contarActivosPorGenero();
+
+    /** [anioPublicacion, libros] de libros activos. */
+    @Query("SELECT l.anioPublicacion, COUNT(l) FROM LibroEntity l WHERE l.activo = true "
+            + "GROUP BY l.anioPublicacion")
+    List<Object[]> contarActivosPorAnio();
+
+    /** [autorId, libros, páginas] de libros activos; agrupa por la FK, sin JOIN. */
+    @Query("SELECT l.autor.id, COUNT(l), COALESCE(SUM(l.numPaginas), 0) FROM LibroEntity l "
+            + "WHERE l.activo = true GROUP BY l.autor.id")
+    List<Object[]> contarActivosPorAutor();
+
+    // ── Modelo columnar (carga de AnaliticaCatalogo) ──
+
+    /**
+     * [id, genero, anioPublicacion, numPaginas, autorId] de libros activos
+     * en orden de id: las filas se agregan al final de las columnas.
+     * Cursor de solo avance, como streamActivos(); cerrar el Stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.id, l.genero, l.anioPublicacion, l.numPaginas, l.autor.id FROM LibroEntity l "
+            + "WHERE l.activo = true ORDER BY l.id")
+    Stream<Object[]> streamColumnasActivos();
+
+    // ── Listado sin COUNT (Slice) y totales ──
+
+    /**
+     * Slice de libros activos: pide size + 1 filas para saber si hay más,
+     * sin el SELECT COUNT(*) que acompaña a cada Page.
+     */
+    @Query(SELECT_RESPONSE + " WHERE l.activo = true")
+    Slice<LibroResponseDto> findSliceActivos(Pageable pageable);
+
+    long countByActivoTrue();
+
+    /**
+     * Estimación de libros activos a partir de las estadísticas del planificador:
+     * reltuples × frecuencia de activo = true en pg_stats. Si true no figura
+     * entre los valores más comunes (muy pocos activos), su frecuencia es lo
+     * que dejan los demás valores y los NULL.
+     * Devuelve un valor negativo si la tabla aún no fue analizada o no hay
+     * estadísticas de la columna activo.
+     */
+    @Query(value = "SELECT CASE "
+            + "WHEN c.reltuples < 0 OR s.most_common_vals IS NULL THEN -1 "
+            + "ELSE CAST(c.reltuples * COALESCE("
+            + "s.most_common_freqs[array_position(CAST(CAST(s.most_common_vals AS TEXT) AS BOOLEAN[]), TRUE)], "
+            + "GREATEST(1 - s.null_frac - (SELECT SUM(f) FROM unnest(s.most_common_freqs) f), 0)) AS BIGINT) END "
+            + "FROM pg_class c "
+            + "LEFT JOIN pg_stats s ON s.schemaname = current_schema() "
+            + "AND s.tablename = 'libros' AND s.attname = 'activo' "
+            + "WHERE c.oid = CAST('libros' AS regclass)",
+            nativeQuery = true)
+    long estimarActivos();
+
+    // ── Keyset (cursor) ──
+
+    /**
+     * Ventana keyset de libros activos: filtra por (campo, id) > cursor
+     * en lugar de OFFSET, así el coste no crece con la profundidad.
+     */
+    @EntityGraph(attributePaths = "autor")
+    Window<LibroEntity> findWindowByActivoTrue(ScrollPosition position, Sort sort, Limit limit);
 }
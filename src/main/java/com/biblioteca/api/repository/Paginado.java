@@ -0,0 +1,43 @@
+package com.biblioteca.api.repository;
+
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Page y Slice sobre consultas Criteria de los fragmentos de repositorio,
+ * con la misma semántica que las @Query de Spring Data.
+ */
+final class Paginado {
+
+    private Paginado() {
+    }
+
+    /** Página con COUNT, omitido si la página no se llena. */
+    static <T, R> Page<R> pagina(TypedQuery<T> query, Pageable pageable, Function<T, R> fila, LongSupplier total) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList().stream().map(fila).toList(), pageable, total);
+    }
+
+    /** Slice: pide size + 1 filas para saber si hay más, sin COUNT. */
+    static <T, R> Slice<R> slice(TypedQuery<T> query, Pageable pageable, Function<T, R> fila) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList().stream().map(fila).toList(), pageable, false);
+        }
+        List<T> filas = query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hayMas = filas.size() > pageable.getPageSize();
+        List<R> contenido = (hayMas ? filas.subList(0, pageable.getPageSize()) : filas).stream().map(fila).toList();
+        return new SliceImpl<>(contenido, pageable, hayMas);
+    }
+}
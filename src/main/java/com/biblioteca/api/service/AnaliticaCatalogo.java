@@ -0,0 +1,182 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.AnaliticaResumenDto;
+import com.biblioteca.api.dto.comun.AutoresPorNacionalidadDto;
+import com.biblioteca.api.dto.comun.LibrosPorAnioDto;
+import com.biblioteca.api.dto.comun.PaginasGeneroDto;
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibrosImportadosEvent;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas analíticas del catálogo (libros por rango de años, promedio de
+ * páginas por género, autores por nacionalidad) sobre un CatalogoColumnar
+ * en memoria, sin tocar las tablas OLTP.
+ *
+ * - Se carga al arrancar recorriendo libros y autores activos en orden de id.
+ * - LibroCambioEvent y AutorCambioEvent se aplican tras el commit; como
+ *   llevan el estado actual, aplicarlos es idempotente. Una importación
+ *   masiva recarga todo en segundo plano (RecargaEnSegundoPlano).
+ * - Una recarga periódica (app.analitica.reconciliacion) construye una
+ *   instantánea nueva, reaplica los eventos recibidos mientras tanto y la
+ *   reemplaza: compacta y descarta códigos de diccionario sin uso.
+ */
+@Slf4j
+@Component
+public class AnaliticaCatalogo {
+
+    private final LibroRepository libroRepository;
+    private final AutorRepository autorRepository;
+    private final TransactionTemplate lectura;
+    /** Serializa las recargas (programada, importación, arranque). */
+    private final Object recarga = new Object();
+    private final RecargaEnSegundoPlano recargaImportacion =
+            new RecargaEnSegundoPlano("analitica-recarga", this::recargar);
+
+    private volatile CatalogoColumnar catalogo = new CatalogoColumnar(0, 0);
+    private volatile LocalDateTime cargado;
+
+    /** Eventos recibidos durante una recarga, para reaplicarlos al terminar. */
+    private List<Object> registro;
+
+    public AnaliticaCatalogo(LibroRepository libroRepository, AutorRepository autorRepository,
+            PlatformTransactionManager transactionManager) {
+        this.libroRepository = libroRepository;
+        this.autorRepository = autorRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ── Consulta ──
+
+    public LibrosPorAnioDto librosPorAnio(Integer desde, Integer hasta) {
+        return catalogo.librosPorAnio(desde, hasta);
+    }
+
+    public List<PaginasGeneroDto> paginasPorGenero() {
+        return catalogo.paginasPorGenero();
+    }
+
+    public AutoresPorNacionalidadDto autoresPorNacionalidad() {
+        return catalogo.autoresPorNacionalidad();
+    }
+
+    public AnaliticaResumenDto resumen() {
+        CatalogoColumnar actual = catalogo;
+        return new AnaliticaResumenDto(actual.libros(), actual.autores(), actual.bytes(), cargado);
+    }
+
+    // ── Recarga ──
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sembrar() {
+        recargar();
+        log.info("Modelo columnar de analítica: {} libros y {} autores activos, {} KiB",
+                catalogo.libros(), catalogo.autores(), catalogo.bytes() / 1024);
+    }
+
+    /**
+     * Construye una instantánea nueva desde la BD y reemplaza la actual.
+     * Los cambios que llegan mientras tanto se reaplican sobre el resultado.
+     */
+    @Scheduled(initialDelayString = "${app.analitica.reconciliacion:1h}",
+            fixedDelayString = "${app.analitica.reconciliacion:1h}")
+    public void recargar() {
+        synchronized (recarga) {
+            synchronized (this) {
+                registro = new ArrayList<>();
+            }
+            try {
+                CatalogoColumnar nuevo = lectura.execute(estado -> cargar());
+
+                synchronized (this) {
+                    registro.forEach(evento -> aplicar(nuevo, evento));
+                    catalogo = nuevo;
+                    cargado = LocalDateTime.now();
+                }
+            } finally {
+                synchronized (this) {
+                    registro = null;
+                }
+            }
+        }
+    }
+
+    private CatalogoColumnar cargar() {
+        // Capacidad inicial con holgura para las altas hasta la próxima recarga
+        long libros = libroRepository.countByActivoTrue();
+        long autores = autorRepository.countByActivoTrue();
+        CatalogoColumnar nuevo = new CatalogoColumnar(
+                (int) Math.min(libros + libros / 8, Integer.MAX_VALUE - 8),
+                (int) Math.min(autores + autores / 8, Integer.MAX_VALUE - 8));
+
+        try (Stream<Object[]> filas = libroRepository.streamColumnasActivos()) {
+            filas.forEach(fila -> nuevo.ponerLibro(((Number) fila[0]).longValue(), (String) fila[1],
+                    (Integer) fila[2], (Integer) fila[3], ((Number) fila[4]).longValue()));
+        }
+        try (Stream<Object[]> filas = autorRepository.streamColumnasActivos()) {
+            filas.forEach(fila -> nuevo.ponerAutor(((Number) fila[0]).longValue(), (String) fila[1]));
+        }
+        return nuevo;
+    }
+
+    // ── Mantenimiento (tras el commit) ──
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void alCambiarLibro(LibroCambioEvent evento) {
+        registrar(evento);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void alCambiarAutor(AutorCambioEvent evento) {
+        registrar(evento);
+    }
+
+    /**
+     * La importación no publica un evento por fila: se recarga todo, fuera
+     * del hilo de la petición y agrupando las importaciones seguidas.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alImportarLibros(LibrosImportadosEvent evento) {
+        recargaImportacion.solicitar();
+    }
+
+    @PreDestroy
+    void detener() {
+        recargaImportacion.close();
+    }
+
+    private void registrar(Object evento) {
+        if (registro != null) {
+            registro.add(evento);
+        }
+        aplicar(catalogo, evento);
+    }
+
+    private static void aplicar(CatalogoColumnar destino, Object evento) {
+        switch (evento) {
+            case LibroCambioEvent libro -> destino.aplicar(libro);
+            case AutorCambioEvent autor -> destino.aplicar(autor);
+            default -> throw new IllegalArgumentException("Evento no soportado: " + evento);
+        }
+    }
+}
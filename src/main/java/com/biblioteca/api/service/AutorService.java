@@ -2,8 +2,19 @@ package com.biblioteca.api.service;
 
 import com.biblioteca.api.dto.autor.AutorRequestDto;
 import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.autor.CampoAutor;
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.LoteResultadoDto;
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Contrato de la capa de servicio para Autores.
@@ -13,11 +24,23 @@ public interface AutorService {
 
     AutorResponseDto crear(AutorRequestDto dto);
 
+    LoteResultadoDto<AutorResponseDto> crearLote(List<AutorRequestDto> dtos);
+
     AutorResponseDto buscarPorId(Long id);
 
-    Page<AutorResponseDto> listar(Pageable pageable);
+    PorIdsDto<AutorResponseDto> buscarPorIds(List<Long> ids);
+
+    LocalDateTime version(Long id);
+
+    Page<AutorResponseDto> listar(Pageable pageable, Set<CampoAutor> campos);
+
+    PaginaDto<AutorResponseDto> listar(Pageable pageable, ModoConteo modo, Set<CampoAutor> campos);
+
+    CursorPageDto<AutorResponseDto> listarPorCursor(String cursor, int size, Sort sort);
 
     AutorResponseDto actualizar(Long id, AutorRequestDto dto);
 
     void eliminar(Long id);
+
+    PorIdsDto<Long> eliminarLote(List<Long> ids);
 }
@@ -2,91 +2,288 @@ package com.biblioteca.api.service;
 
 import com.biblioteca.api.dto.autor.AutorRequestDto;
 import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.autor.CampoAutor;
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.LoteItemDto;
+import com.biblioteca.api.dto.comun.LoteResultadoDto;
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
 import com.biblioteca.api.entity.AutorEntity;
+import com.biblioteca.api.event.AutorCambioEvent;
 import com.biblioteca.api.exception.DuplicateResourceException;
 import com.biblioteca.api.exception.ResourceNotFoundException;
 import com.biblioteca.api.mapper.AutorMapper;
+import com.biblioteca.api.mapper.CursorMapper;
 import com.biblioteca.api.repository.AutorRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Implementación de los casos de uso de Autores.
  * Contiene TODA la lógica de negocio.
+ * Cada método público se mide en biblioteca.servicio{class, method}.
  */
 @Service
+@Timed(value = "biblioteca.servicio", extraTags = {"servicio", "autores"})
 @RequiredArgsConstructor
 @Transactional
 public class AutorServiceImpl implements AutorService {
 
+    /** Campos ordenables en modo cursor → conversor desde el cursor. */
+    private static final Map<String, Function<String, Object>> CAMPOS_CURSOR = Map.of(
+            "id", Long::valueOf,
+            "apellido", valor -> valor,
+            "nombre", valor -> valor,
+            "createdAt", LocalDateTime::parse);
+
     private final AutorRepository repository;
     private final AutorMapper mapper;
+    private final CursorMapper cursorMapper;
+    private final ConteoTotales conteoTotales;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final CacheRespuestas cache;
+    private final ApplicationEventPublisher eventos;
+    private final Desactivaciones desactivaciones;
 
     /**
      * Registra un nuevo autor.
-     * REGLA: No permite duplicados por nombre + apellido.
+     * REGLA: No permite duplicados por nombre + apellido (entre todos los
+     * autores, también los dados de baja).
+     * La aplica la restricción única uq_autores_nombre, sin consulta previa
+     * y también entre peticiones concurrentes: el flush ejecuta el INSERT aquí
+     * y GlobalExceptionHandler traduce la violación a 409.
      */
     @Override
     public AutorResponseDto crear(AutorRequestDto dto) {
-        if (repository.existsByNombreAndApellido(dto.nombre(), dto.apellido())) {
-            throw new DuplicateResourceException("Autor", dto.nombre() + " " + dto.apellido());
+        AutorEntity saved = repository.saveAndFlush(mapper.toEntity(dto));
+        eventos.publishEvent(AutorCambioEvent.creado(saved));
+        return mapper.toResponse(saved);
+    }
+
+    /**
+     * Registra varios autores en una sola petición, con resultado por ítem.
+     * Aplica la regla de duplicados de crear() con una única consulta IN
+     * e inserta en batches JDBC (ids por secuencia con asignación pooled).
+     */
+    @Override
+    public LoteResultadoDto<AutorResponseDto> crearLote(List<AutorRequestDto> dtos) {
+        Lotes.validarTamanio(dtos.size());
+
+        @SuppressWarnings("unchecked")
+        LoteItemDto<AutorResponseDto>[] resultados = new LoteItemDto[dtos.size()];
+        Set<String> apellidos = new HashSet<>();
+
+        // Validaciones Jakarta por ítem (las mismas de @Valid)
+        for (int i = 0; i < dtos.size(); i++) {
+            Set<ConstraintViolation<AutorRequestDto>> violaciones = validator.validate(dtos.get(i));
+            if (!violaciones.isEmpty()) {
+                resultados[i] = LoteItemDto.rechazado(i, Lotes.mensaje(violaciones));
+            } else {
+                apellidos.add(dtos.get(i).apellido());
+            }
         }
 
-        AutorEntity entity = mapper.toEntity(dto);
-        AutorEntity saved = repository.save(entity);
-        return mapper.toResponse(saved);
+        // Nombres ya registrados: una sola consulta IN
+        Set<String> ocupados = apellidos.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(repository.findClavesNombreByApellidoIn(apellidos));
+
+        List<AutorEntity> bloque = new ArrayList<>(Lotes.TAMANIO_BLOQUE);
+        List<Integer> indicesBloque = new ArrayList<>(Lotes.TAMANIO_BLOQUE);
+
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] != null) {
+                continue;
+            }
+            AutorRequestDto dto = dtos.get(i);
+
+            // add() también detecta duplicados dentro del mismo lote
+            if (!ocupados.add(dto.nombre() + "|" + dto.apellido())) {
+                resultados[i] = LoteItemDto.rechazado(i, new DuplicateResourceException(
+                        "Autor", dto.nombre() + " " + dto.apellido()).getMessage());
+                continue;
+            }
+
+            bloque.add(mapper.toEntity(dto));
+            indicesBloque.add(i);
+            if (bloque.size() == Lotes.TAMANIO_BLOQUE) {
+                guardarBloque(bloque, indicesBloque, resultados);
+            }
+        }
+        guardarBloque(bloque, indicesBloque, resultados);
+
+        return LoteResultadoDto.de(Arrays.asList(resultados));
+    }
+
+    /**
+     * Inserta un bloque (flush → INSERTs en batch), registra los resultados
+     * y limpia el contexto de persistencia para no acumular entidades.
+     */
+    private void guardarBloque(List<AutorEntity> bloque, List<Integer> indices,
+            LoteItemDto<AutorResponseDto>[] resultados) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+        repository.saveAll(bloque);
+        repository.flush();
+
+        for (int j = 0; j < bloque.size(); j++) {
+            int indice = indices.get(j);
+            resultados[indice] = LoteItemDto.creado(indice, mapper.toResponse(bloque.get(j)));
+            eventos.publishEvent(AutorCambioEvent.creado(bloque.get(j)));
+        }
+        entityManager.clear();
+        bloque.clear();
+        indices.clear();
     }
 
     /**
      * Busca un autor por ID.
      * Lanza 404 si no existe.
+     * Read-through sobre la caché de respuestas: solo consulta la BD si falla.
      */
     @Override
     @Transactional(readOnly = true)
     public AutorResponseDto buscarPorId(Long id) {
-        AutorEntity entity = repository.findById(id)
+        return cache.autor(id, repository::findResponseById)
+                .orElseThrow(() -> new ResourceNotFoundException("Autor", id));
+    }
+
+    /**
+     * Busca varios autores por ID en el orden pedido.
+     * Los que no están en caché se resuelven con una sola consulta IN.
+     * Los ids inexistentes se informan en faltantes, sin 404.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PorIdsDto<AutorResponseDto> buscarPorIds(List<Long> ids) {
+        List<Long> distintos = PorIdsDto.distintos(ids);
+        return PorIdsDto.de(distintos, cache.autores(distintos, repository::findResponsesByIds));
+    }
+
+    /**
+     * Versión (updatedAt) para GET condicional, sin cargar el autor.
+     * Solo con la caché de respuestas desactivada; si no, el updatedAt del
+     * autor cacheado.
+     * Lanza 404 si no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime version(Long id) {
+        return repository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Autor", id));
-        return mapper.toResponse(entity);
     }
 
     /**
      * Lista autores activos con paginación.
      * Solo devuelve registros con activo = true.
+     * Proyección directa a DTO: sin hidratar entidades ni pasar por el mapper.
+     * Con ?fields=, el SELECT solo lee las columnas pedidas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AutorResponseDto> listar(Pageable pageable, Set<CampoAutor> campos) {
+        return CampoAutor.todos(campos)
+                ? repository.findResponsesActivos(pageable)
+                : repository.findCamposActivos(campos, pageable);
+    }
+
+    /**
+     * Lista autores activos sin COUNT por petición (Slice + hasNext).
+     * Si el cliente pide total, se sirve cacheado o estimado según el modo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDto<AutorResponseDto> listar(Pageable pageable, ModoConteo modo, Set<CampoAutor> campos) {
+        return conteoTotales.paginar(
+                CampoAutor.todos(campos)
+                        ? repository.findSliceActivos(pageable)
+                        : repository.findSliceCamposActivos(campos, pageable),
+                modo,
+                "autores",
+                repository::countByActivoTrue,
+                repository::estimarActivos);
+    }
+
+    /**
+     * Lista autores activos por cursor (keyset).
+     * Busca sobre la tupla (campo, id) en lugar de usar OFFSET,
+     * así la latencia no depende de la profundidad.
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<AutorResponseDto> listar(Pageable pageable) {
-        return repository.findByActivoTrue(pageable)
-                .map(mapper::toResponse);
+    public CursorPageDto<AutorResponseDto> listarPorCursor(String cursor, int size, Sort sort) {
+        CursorMapper.Cursor posicion = cursorMapper.decode(cursor, sort, CAMPOS_CURSOR);
+        return cursorMapper.toPage(
+                repository.findWindowByActivoTrue(posicion.posicion(), posicion.sort(),
+                        Limit.of(CursorMapper.acotar(size))),
+                posicion.sort(),
+                mapper::toResponse);
     }
 
     /**
      * Actualiza un autor existente.
      * Usa el método de negocio actualizarDatos() de la Entity.
+     * La entidad está gestionada: el flush ejecuta el UPDATE (dirty checking)
+     * para que un nombre duplicado falle aquí y la respuesta lleve el
+     * updatedAt de la auditoría.
      */
     @Override
     public AutorResponseDto actualizar(Long id, AutorRequestDto dto) {
         AutorEntity entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Autor", id));
 
+        AutorCambioEvent.Snapshot anterior = AutorCambioEvent.Snapshot.de(entity);
         mapper.updateEntity(entity, dto);
-        AutorEntity updated = repository.save(entity);
-        return mapper.toResponse(updated);
+        repository.flush();
+        eventos.publishEvent(new AutorCambioEvent(id, anterior, AutorCambioEvent.Snapshot.de(entity)));
+        return mapper.toResponse(entity);
     }
 
     /**
-     * Soft Delete: marca al autor como inactivo.
+     * Soft Delete: marca al autor como inactivo y, en cascada, a sus libros activos.
      * NO elimina físicamente el registro.
+     * Un UPDATE por conjunto, sin cargar la entidad; 404 si no existe.
      */
     @Override
     public void eliminar(Long id) {
-        AutorEntity entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Autor", id));
+        if (desactivaciones.autores(List.of(id)).isEmpty()) {
+            throw new ResourceNotFoundException("Autor", id);
+        }
+    }
 
-        entity.desactivar();
-        repository.save(entity);
+    /**
+     * Soft Delete en lote (con sus libros): un UPDATE para todo el conjunto.
+     * content = ids existentes (desactivados ahora o ya inactivos);
+     * faltantes = ids que no existen.
+     */
+    @Override
+    public PorIdsDto<Long> eliminarLote(List<Long> ids) {
+        List<Long> distintos = Lotes.idsDistintos(ids);
+        Set<Long> existentes = desactivaciones.autores(distintos);
+        return PorIdsDto.de(distintos, existentes.stream()
+                .collect(Collectors.toMap(Function.identity(), Function.identity())));
     }
 }
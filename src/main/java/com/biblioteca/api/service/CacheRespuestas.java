@@ -0,0 +1,263 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.comun.CacheEstadisticasDto;
+import com.biblioteca.api.dto.libro.LibroVersionadoDto;
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibrosImportadosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caché en memoria de las respuestas de buscarPorId (libros y autores).
+ *
+ * - Acotada por tamaño y TTL (app.cache.respuestas.*), con Caffeine;
+ *   maximo=0 la desactiva.
+ * - Los libros se guardan con su versión (LibroVersionadoDto) para que el
+ *   GET condicional derive ETag y Last-Modified del valor servido; los
+ *   autores la llevan en updatedAt.
+ * - Read-through: si la entrada no está, la carga el servicio y se guarda;
+ *   los 404 no se cachean.
+ * - Se invalida tras el commit de cada escritura, a partir de los eventos
+ *   de dominio: nunca se expone un valor que la transacción no confirmó.
+ *   Renombrar un autor invalida también los libros cacheados que embeben
+ *   su nombre (autorNombreCompleto).
+ *
+ * Una lectura que empezó antes del commit puede terminar después de la
+ * invalidación con el valor anterior. Para no guardarlo, cada invalidación
+ * toma una generación nueva y la anota en la franja de la clave; la carga
+ * anota la generación antes de leer y solo guarda si ni su franja ni la
+ * caché completa se invalidaron desde entonces. El valor leído se sirve
+ * igual a quien lo pidió.
+ *
+ * Aciertos, fallos y desalojos se publican también como cache.*{cache}.
+ */
+@Component
+public class CacheRespuestas {
+
+    public static final String LIBROS = "libros";
+    public static final String AUTORES = "autores";
+
+    /** Franjas de generaciones por región: acota la memoria; una colisión solo evita guardar. */
+    private static final int FRANJAS = 1024;
+
+    /**
+     * Una caché con sus generaciones de invalidación.
+     * Guardar e invalidar una clave pasan por compute() sobre esa clave, así
+     * la comprobación de la generación y la escritura son atómicas.
+     */
+    private static final class Region<V> {
+
+        private final Cache<Long, V> cache;
+        private final AtomicLong generacion;
+        private final AtomicLongArray franjas = new AtomicLongArray(FRANJAS);
+        private final LongAdder invalidaciones = new LongAdder();
+        /** Generación de la última invalidación que alcanzó a toda la región. */
+        private volatile long global;
+
+        Region(Cache<Long, V> cache, AtomicLong generacion) {
+            this.cache = cache;
+            this.generacion = generacion;
+        }
+
+        Optional<V> get(Long id, Function<Long, Optional<V>> cargar) {
+            V presente = cache.getIfPresent(id);
+            if (presente != null) {
+                return Optional.of(presente);
+            }
+            long leida = generacion.get();
+            Optional<V> cargado = cargar.apply(id);
+            cargado.ifPresent(valor -> guardar(id, valor, leida));
+            return cargado;
+        }
+
+        Map<Long, V> getAll(Collection<Long> ids, Function<Collection<Long>, List<V>> cargar, Function<V, Long> id) {
+            Map<Long, V> resultado = new HashMap<>(cache.getAllPresent(ids));
+            List<Long> faltantes = ids.stream().filter(clave -> !resultado.containsKey(clave)).toList();
+            if (!faltantes.isEmpty()) {
+                long leida = generacion.get();
+                for (V valor : cargar.apply(faltantes)) {
+                    resultado.put(id.apply(valor), valor);
+                    guardar(id.apply(valor), valor, leida);
+                }
+            }
+            return resultado;
+        }
+
+        private void guardar(Long id, V valor, long leida) {
+            cache.asMap().compute(id, (clave, actual) -> {
+                if (actual != null) {
+                    return actual;
+                }
+                boolean vigente = global <= leida && franjas.get(franja(clave)) <= leida;
+                return vigente ? valor : null;
+            });
+        }
+
+        void invalidar(Long id) {
+            cache.asMap().compute(id, (clave, actual) -> {
+                franjas.accumulateAndGet(franja(clave), generacion.incrementAndGet(), Math::max);
+                if (actual != null) {
+                    invalidaciones.increment();
+                }
+                return null;
+            });
+        }
+
+        /** Invalida los valores que cumplen la condición; las cargas en curso no se guardan. */
+        void invalidarSi(Predicate<V> condicion) {
+            global = generacion.incrementAndGet();
+            cache.asMap().values().removeIf(valor -> {
+                boolean cumple = condicion.test(valor);
+                if (cumple) {
+                    invalidaciones.increment();
+                }
+                return cumple;
+            });
+        }
+
+        void invalidarTodo() {
+            global = generacion.incrementAndGet();
+            invalidaciones.add(cache.estimatedSize());
+            cache.invalidateAll();
+        }
+
+        CacheEstadisticasDto estadisticas(String nombre) {
+            CacheStats stats = cache.stats();
+            return new CacheEstadisticasDto(
+                    nombre,
+                    cache.estimatedSize(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount(),
+                    invalidaciones.sum());
+        }
+
+        private static int franja(Long id) {
+            return Long.hashCode(id) & (FRANJAS - 1);
+        }
+    }
+
+    private final boolean habilitada;
+    private final Region<LibroVersionadoDto> libros;
+    private final Region<AutorResponseDto> autores;
+
+    public CacheRespuestas(
+            @Value("${app.cache.respuestas.maximo:10000}") long maximo,
+            @Value("${app.cache.respuestas.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.habilitada = maximo > 0;
+        Cache<Long, LibroVersionadoDto> cacheLibros = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        Cache<Long, AutorResponseDto> cacheAutores = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheLibros, LIBROS);
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheAutores, AUTORES);
+        AtomicLong generacion = new AtomicLong();
+        this.libros = new Region<>(cacheLibros, generacion);
+        this.autores = new Region<>(cacheAutores, generacion);
+    }
+
+    // ── Lectura ──
+
+    /** false con app.cache.respuestas.maximo=0: cada lectura va a la BD. */
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    public Optional<LibroVersionadoDto> libro(Long id, Function<Long, Optional<LibroVersionadoDto>> cargar) {
+        return habilitada ? libros.get(id, cargar) : cargar.apply(id);
+    }
+
+    public Optional<AutorResponseDto> autor(Long id, Function<Long, Optional<AutorResponseDto>> cargar) {
+        return habilitada ? autores.get(id, cargar) : cargar.apply(id);
+    }
+
+    /**
+     * Lectura de varios ids: los ausentes en caché se cargan juntos con una
+     * sola llamada a "cargar" (una consulta IN). Los ids que no existen
+     * quedan fuera del mapa y no se cachean.
+     */
+    public Map<Long, LibroVersionadoDto> libros(Collection<Long> ids,
+                                                Function<Collection<Long>, List<LibroVersionadoDto>> cargar) {
+        Function<LibroVersionadoDto, Long> id = versionado -> versionado.libro().id();
+        return habilitada ? libros.getAll(ids, cargar, id) : porId(cargar.apply(List.copyOf(ids)), id);
+    }
+
+    public Map<Long, AutorResponseDto> autores(Collection<Long> ids,
+                                               Function<Collection<Long>, List<AutorResponseDto>> cargar) {
+        return habilitada
+                ? autores.getAll(ids, cargar, AutorResponseDto::id)
+                : porId(cargar.apply(List.copyOf(ids)), AutorResponseDto::id);
+    }
+
+    private static <T> Map<Long, T> porId(List<T> valores, Function<T, Long> id) {
+        Map<Long, T> porId = new HashMap<>();
+        valores.forEach(valor -> porId.put(id.apply(valor), valor));
+        return porId;
+    }
+
+    // ── Invalidación (tras el commit) ──
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alCambiarLibro(LibroCambioEvent evento) {
+        if (evento.anterior() != null) {
+            libros.invalidar(evento.libroId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alCambiarAutor(AutorCambioEvent evento) {
+        if (evento.anterior() == null) {
+            return;
+        }
+        autores.invalidar(evento.autorId());
+        if (evento.cambioNombre()) {
+            // Recorre solo la caché (acotada), no la BD
+            libros.invalidarSi(libro -> evento.autorId().equals(libro.libro().autorId()));
+        }
+    }
+
+    /**
+     * La importación no dice qué filas tocó: se vacía la caché de libros.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alImportarLibros(LibrosImportadosEvent evento) {
+        if (evento.actualizados() > 0) {
+            libros.invalidarTodo();
+        }
+    }
+
+    // ── Estadísticas ──
+
+    public List<CacheEstadisticasDto> estadisticas() {
+        return List.of(libros.estadisticas(LIBROS), autores.estadisticas(AUTORES));
+    }
+}
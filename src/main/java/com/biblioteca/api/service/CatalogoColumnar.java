@@ -0,0 +1,542 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.AutoresPorNacionalidadDto;
+import com.biblioteca.api.dto.comun.LibrosPorAnioDto;
+import com.biblioteca.api.dto.comun.PaginasGeneroDto;
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+
+/**
+ * Instantánea columnar de libros y autores activos para consultas analíticas.
+ *
+ * - Cada atributo es un arreglo primitivo indexado por fila: año, páginas y
+ *   autor de los libros; género y nacionalidad como códigos de diccionario
+ *   (el 0 es "sin_dato"). Los años y páginas null se guardan como NULO.
+ * - Las filas están ordenadas por id: ubicar un id es una búsqueda binaria
+ *   y las altas (ids de secuencia crecientes) se agregan al final.
+ * - Una baja solo apaga el bit de la fila (lápida); las lápidas se compactan
+ *   cuando superan un cuarto de la tabla.
+ * - Las consultas recorren las columnas con tareas fork-join sobre rangos
+ *   de filas; cada hoja acumula en arreglos propios y se combinan al volver.
+ *
+ * Las escrituras y las consultas se coordinan con un ReadWriteLock: varias
+ * consultas en paralelo, cada cambio espera a que terminen.
+ */
+public final class CatalogoColumnar {
+
+    /** Año o páginas ausentes (null en la BD). */
+    static final int NULO = Integer.MIN_VALUE;
+
+    /** Filas por tarea hoja: por debajo no compensa dividir. */
+    private static final int FILAS_POR_TAREA = 1 << 16;
+
+    /** Años como máximo en un histograma (un arreglo por tarea hoja). */
+    static final int MAXIMO_ANIOS = 10_000;
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+    private final ForkJoinPool pool;
+
+    private final Libros libros;
+    private final Autores autores;
+
+    public CatalogoColumnar(int capacidadLibros, int capacidadAutores) {
+        this(capacidadLibros, capacidadAutores, ForkJoinPool.commonPool());
+    }
+
+    CatalogoColumnar(int capacidadLibros, int capacidadAutores, ForkJoinPool pool) {
+        this.libros = new Libros(capacidadLibros);
+        this.autores = new Autores(capacidadAutores);
+        this.pool = pool;
+    }
+
+    // ── Escritura ──
+
+    /** Alta o actualización de un libro activo. */
+    public void ponerLibro(long id, String genero, Integer anio, Integer paginas, long autorId) {
+        candado.writeLock().lock();
+        try {
+            int fila = libros.filaParaEscribir(id);
+            libros.generos[fila] = libros.diccionario.codigo(genero);
+            libros.anios[fila] = anio != null ? anio : NULO;
+            libros.paginas[fila] = paginas != null ? paginas : NULO;
+            libros.autores[fila] = autorId;
+            libros.activar(fila);
+            if (anio != null) {
+                libros.anioMinimo = Math.min(libros.anioMinimo, anio);
+                libros.anioMaximo = Math.max(libros.anioMaximo, anio);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public void quitarLibro(long id) {
+        candado.writeLock().lock();
+        try {
+            libros.desactivar(id);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /** Alta o actualización de un autor activo. */
+    public void ponerAutor(long id, String nacionalidad) {
+        candado.writeLock().lock();
+        try {
+            int fila = autores.filaParaEscribir(id);
+            autores.nacionalidades[fila] = autores.diccionario.codigo(nacionalidad);
+            autores.activar(fila);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public void quitarAutor(long id) {
+        candado.writeLock().lock();
+        try {
+            autores.desactivar(id);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /** Aplica el estado actual del evento: idempotente, se puede reaplicar. */
+    public void aplicar(LibroCambioEvent evento) {
+        LibroCambioEvent.Snapshot actual = evento.actual();
+        if (actual != null && actual.activo()) {
+            ponerLibro(evento.libroId(), actual.genero(), actual.anioPublicacion(), actual.numPaginas(),
+                    actual.autorId());
+        } else {
+            quitarLibro(evento.libroId());
+        }
+    }
+
+    /** Aplica el estado actual del evento: idempotente, se puede reaplicar. */
+    public void aplicar(AutorCambioEvent evento) {
+        AutorCambioEvent.Snapshot actual = evento.actual();
+        if (actual != null && actual.activo()) {
+            ponerAutor(evento.autorId(), actual.nacionalidad());
+        } else {
+            quitarAutor(evento.autorId());
+        }
+    }
+
+    // ── Consultas ──
+
+    /**
+     * Libros activos por año de publicación en [desde, hasta] (inclusivo).
+     * Sin extremos se usa el año mínimo / máximo cargado; los libros sin año
+     * no entran en ningún rango.
+     */
+    public LibrosPorAnioDto librosPorAnio(Integer desde, Integer hasta) {
+        if (desde != null && hasta != null && desde > hasta) {
+            throw new BadRequestException("desde (" + desde + ") no puede ser mayor que hasta (" + hasta + ")");
+        }
+        candado.readLock().lock();
+        try {
+            int minimo = Math.max(desde != null ? desde : libros.anioMinimo, libros.anioMinimo);
+            int maximo = Math.min(hasta != null ? hasta : libros.anioMaximo, libros.anioMaximo);
+            if (minimo > maximo) {
+                return new LibrosPorAnioDto(desde, hasta, 0, new TreeMap<>());
+            }
+            if ((long) maximo - minimo >= MAXIMO_ANIOS) {
+                throw new BadRequestException("El rango no puede superar " + MAXIMO_ANIOS
+                        + " años: acotar con desde / hasta");
+            }
+            int anios = maximo - minimo + 1;
+            long[] conteos = escanear(libros, (inicio, fin) -> {
+                long[] parcial = new long[anios];
+                int[] columna = libros.anios;
+                for (int fila = libros.vivas.nextSetBit(inicio); fila >= 0 && fila < fin;
+                        fila = libros.vivas.nextSetBit(fila + 1)) {
+                    int anio = columna[fila];
+                    if (anio != NULO && anio >= minimo && anio <= maximo) {
+                        parcial[anio - minimo]++;
+                    }
+                }
+                return parcial;
+            }, CatalogoColumnar::sumar);
+
+            Map<Integer, Long> porAnio = new TreeMap<>();
+            long total = 0;
+            for (int i = 0; i < anios; i++) {
+                if (conteos[i] > 0) {
+                    porAnio.put(minimo + i, conteos[i]);
+                    total += conteos[i];
+                }
+            }
+            return new LibrosPorAnioDto(desde, hasta, total, porAnio);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Libros activos y promedio de páginas por género. Como AVG en SQL, el
+     * promedio ignora los libros sin páginas (null si no hay ninguno).
+     */
+    public List<PaginasGeneroDto> paginasPorGenero() {
+        candado.readLock().lock();
+        try {
+            int codigos = libros.diccionario.tamanio();
+            // [libros | libros con páginas | suma de páginas] por código de género
+            long[] acumulado = escanear(libros, (inicio, fin) -> {
+                long[] parcial = new long[3 * codigos];
+                int[] generos = libros.generos;
+                int[] paginas = libros.paginas;
+                for (int fila = libros.vivas.nextSetBit(inicio); fila >= 0 && fila < fin;
+                        fila = libros.vivas.nextSetBit(fila + 1)) {
+                    int genero = generos[fila];
+                    parcial[genero]++;
+                    if (paginas[fila] != NULO) {
+                        parcial[codigos + genero]++;
+                        parcial[2 * codigos + genero] += paginas[fila];
+                    }
+                }
+                return parcial;
+            }, CatalogoColumnar::sumar);
+
+            List<PaginasGeneroDto> resultado = new ArrayList<>();
+            for (int codigo = 0; codigo < codigos; codigo++) {
+                long conPaginas = acumulado[codigos + codigo];
+                if (acumulado[codigo] > 0) {
+                    resultado.add(new PaginasGeneroDto(libros.diccionario.valor(codigo), acumulado[codigo],
+                            conPaginas > 0 ? (double) acumulado[2 * codigos + codigo] / conPaginas : null));
+                }
+            }
+            resultado.sort((a, b) -> a.genero().compareTo(b.genero()));
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /** Autores activos por nacionalidad. */
+    public AutoresPorNacionalidadDto autoresPorNacionalidad() {
+        candado.readLock().lock();
+        try {
+            int codigos = autores.diccionario.tamanio();
+            long[] conteos = escanear(autores, (inicio, fin) -> {
+                long[] parcial = new long[codigos];
+                int[] nacionalidades = autores.nacionalidades;
+                for (int fila = autores.vivas.nextSetBit(inicio); fila >= 0 && fila < fin;
+                        fila = autores.vivas.nextSetBit(fila + 1)) {
+                    parcial[nacionalidades[fila]]++;
+                }
+                return parcial;
+            }, CatalogoColumnar::sumar);
+
+            Map<String, Long> porNacionalidad = new TreeMap<>();
+            for (int codigo = 0; codigo < codigos; codigo++) {
+                if (conteos[codigo] > 0) {
+                    porNacionalidad.put(autores.diccionario.valor(codigo), conteos[codigo]);
+                }
+            }
+            return new AutoresPorNacionalidadDto(autores.activas, porNacionalidad);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int libros() {
+        candado.readLock().lock();
+        try {
+            return libros.activas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int autores() {
+        candado.readLock().lock();
+        try {
+            return autores.activas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes reservados por las columnas (capacidad, no solo filas ocupadas),
+     * los bitsets de filas vivas y los diccionarios.
+     */
+    public long bytes() {
+        candado.readLock().lock();
+        try {
+            return libros.bytes() + autores.bytes();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    // ── Escaneo fork-join ──
+
+    /** Recorre las filas [inicio, fin) de una tabla y devuelve un acumulado parcial. */
+    @FunctionalInterface
+    private interface Hoja<R> {
+        R escanear(int inicio, int fin);
+    }
+
+    private <R> R escanear(Tabla tabla, Hoja<R> hoja, BinaryOperator<R> combinar) {
+        return pool.invoke(new Escaneo<>(0, tabla.filas, hoja, combinar));
+    }
+
+    /**
+     * Divide el rango por la mitad hasta FILAS_POR_TAREA filas; la mitad
+     * izquierda se bifurca y la derecha se procesa en el mismo hilo.
+     */
+    private static final class Escaneo<R> extends RecursiveTask<R> {
+
+        private final int inicio;
+        private final int fin;
+        private final Hoja<R> hoja;
+        private final BinaryOperator<R> combinar;
+
+        Escaneo(int inicio, int fin, Hoja<R> hoja, BinaryOperator<R> combinar) {
+            this.inicio = inicio;
+            this.fin = fin;
+            this.hoja = hoja;
+            this.combinar = combinar;
+        }
+
+        @Override
+        protected R compute() {
+            if (fin - inicio <= FILAS_POR_TAREA) {
+                return hoja.escanear(inicio, fin);
+            }
+            int medio = (inicio + fin) >>> 1;
+            Escaneo<R> izquierda = new Escaneo<>(inicio, medio, hoja, combinar);
+            izquierda.fork();
+            R derecha = new Escaneo<>(medio, fin, hoja, combinar).compute();
+            return combinar.apply(izquierda.join(), derecha);
+        }
+    }
+
+    private static long[] sumar(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    // ── Tablas ──
+
+    /**
+     * Ids ordenados, bitset de filas vivas y el mantenimiento de filas
+     * común a libros y autores; cada subclase agrega sus columnas.
+     */
+    private abstract static class Tabla {
+
+        long[] ids;
+        final BitSet vivas = new BitSet();
+        /** Filas ocupadas, vivas o lápidas. */
+        int filas;
+        int activas;
+
+        Tabla(int capacidad) {
+            this.ids = new long[Math.max(capacidad, 16)];
+        }
+
+        /** Fila del id; si no existe, la inserta en su posición (al final si es el mayor). */
+        int filaParaEscribir(long id) {
+            int posicion = Arrays.binarySearch(ids, 0, filas, id);
+            if (posicion >= 0) {
+                return posicion;
+            }
+            int fila = -posicion - 1;
+            if (filas == ids.length) {
+                int capacidad = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacidad);
+                crecer(capacidad);
+            }
+            if (fila < filas) {
+                // Id menor que el último (p. ej. un libro reactivado): raro, se desplaza la cola
+                System.arraycopy(ids, fila, ids, fila + 1, filas - fila);
+                desplazar(fila, filas - fila);
+                for (int i = filas; i > fila; i--) {
+                    vivas.set(i, vivas.get(i - 1));
+                }
+                vivas.clear(fila);
+            }
+            ids[fila] = id;
+            filas++;
+            return fila;
+        }
+
+        void activar(int fila) {
+            if (!vivas.get(fila)) {
+                vivas.set(fila);
+                activas++;
+            }
+        }
+
+        void desactivar(long id) {
+            int fila = Arrays.binarySearch(ids, 0, filas, id);
+            if (fila >= 0 && vivas.get(fila)) {
+                vivas.clear(fila);
+                activas--;
+                if (filas > 1024 && filas - activas > filas / 4) {
+                    compactar();
+                }
+            }
+        }
+
+        /** Quita las lápidas: mueve las filas vivas hacia el inicio, en orden. */
+        private void compactar() {
+            int destino = 0;
+            for (int fila = vivas.nextSetBit(0); fila >= 0; fila = vivas.nextSetBit(fila + 1)) {
+                if (fila != destino) {
+                    ids[destino] = ids[fila];
+                    mover(fila, destino);
+                }
+                destino++;
+            }
+            vivas.clear();
+            vivas.set(0, destino);
+            filas = destino;
+        }
+
+        long bytes() {
+            return 8L * ids.length + vivas.size() / 8 + bytesColumnas();
+        }
+
+        abstract void crecer(int capacidad);
+
+        /** Desplaza una posición hacia adelante las columnas de [desde, desde + cantidad). */
+        abstract void desplazar(int desde, int cantidad);
+
+        abstract void mover(int origen, int destino);
+
+        abstract long bytesColumnas();
+    }
+
+    private static final class Libros extends Tabla {
+
+        int[] anios;
+        int[] paginas;
+        long[] autores;
+        int[] generos;
+        final Diccionario diccionario = new Diccionario();
+        int anioMinimo = Integer.MAX_VALUE;
+        int anioMaximo = Integer.MIN_VALUE;
+
+        Libros(int capacidad) {
+            super(capacidad);
+            crecer(ids.length);
+        }
+
+        @Override
+        void crecer(int capacidad) {
+            anios = anios == null ? new int[capacidad] : Arrays.copyOf(anios, capacidad);
+            paginas = paginas == null ? new int[capacidad] : Arrays.copyOf(paginas, capacidad);
+            autores = autores == null ? new long[capacidad] : Arrays.copyOf(autores, capacidad);
+            generos = generos == null ? new int[capacidad] : Arrays.copyOf(generos, capacidad);
+        }
+
+        @Override
+        void desplazar(int desde, int cantidad) {
+            System.arraycopy(anios, desde, anios, desde + 1, cantidad);
+            System.arraycopy(paginas, desde, paginas, desde + 1, cantidad);
+            System.arraycopy(autores, desde, autores, desde + 1, cantidad);
+            System.arraycopy(generos, desde, generos, desde + 1, cantidad);
+        }
+
+        @Override
+        void mover(int origen, int destino) {
+            anios[destino] = anios[origen];
+            paginas[destino] = paginas[origen];
+            autores[destino] = autores[origen];
+            generos[destino] = generos[origen];
+        }
+
+        @Override
+        long bytesColumnas() {
+            return (4L + 4 + 8 + 4) * anios.length + diccionario.bytes();
+        }
+    }
+
+    private static final class Autores extends Tabla {
+
+        int[] nacionalidades;
+        final Diccionario diccionario = new Diccionario();
+
+        Autores(int capacidad) {
+            super(capacidad);
+            crecer(ids.length);
+        }
+
+        @Override
+        void crecer(int capacidad) {
+            nacionalidades = nacionalidades == null
+                    ? new int[capacidad]
+                    : Arrays.copyOf(nacionalidades, capacidad);
+        }
+
+        @Override
+        void desplazar(int desde, int cantidad) {
+            System.arraycopy(nacionalidades, desde, nacionalidades, desde + 1, cantidad);
+        }
+
+        @Override
+        void mover(int origen, int destino) {
+            nacionalidades[destino] = nacionalidades[origen];
+        }
+
+        @Override
+        long bytesColumnas() {
+            return 4L * nacionalidades.length + diccionario.bytes();
+        }
+    }
+
+    /**
+     * Codificación por diccionario: cada valor distinto recibe un código
+     * correlativo. Null o en blanco es el código 0 ("sin_dato"). Los códigos
+     * no se reciclan; una recarga completa parte de un diccionario nuevo.
+     */
+    private static final class Diccionario {
+
+        private final List<String> valores = new ArrayList<>(List.of(EstadisticasCatalogo.SIN_DATO));
+        private final Map<String, Integer> codigos = new HashMap<>();
+
+        int codigo(String valor) {
+            if (valor == null || valor.isBlank()) {
+                return 0;
+            }
+            return codigos.computeIfAbsent(valor, nuevo -> {
+                valores.add(nuevo);
+                return valores.size() - 1;
+            });
+        }
+
+        String valor(int codigo) {
+            return valores.get(codigo);
+        }
+
+        int tamanio() {
+            return valores.size();
+        }
+
+        /** Aproximado: cadenas (UTF-16) más entrada del mapa y de la lista. */
+        long bytes() {
+            long bytes = 0;
+            for (String valor : valores) {
+                bytes += 40L + 2L * valor.length() + 48;
+            }
+            return bytes;
+        }
+    }
+}
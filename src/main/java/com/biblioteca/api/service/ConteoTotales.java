@@ -0,0 +1,90 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.TipoTotal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Resuelve el total de un listado sin ejecutar un COUNT en cada petición.
+ *
+ * - CACHE: el COUNT exacto se guarda durante un TTL corto (app.listados.conteo-ttl).
+ *   Solo una petición recalcula al expirar; el resto reutiliza el valor.
+ * - ESTIMADO: usa la estimación del planificador; si la tabla nunca fue
+ *   analizada (reltuples = -1) o no hay estadísticas de activo cae al
+ *   conteo cacheado.
+ *
+ * En la última página con filas el total se conoce con exactitud
+ * (offset + filas), así que se devuelve como EXACTO sin consultar nada. Una
+ * página vacía más allá del final no dice cuántas filas hay antes del offset:
+ * ahí se usa el estimado o el conteo cacheado como en cualquier otra.
+ */
+@Component
+public class ConteoTotales {
+
+    private record Entrada(long valor, long expiraEnNanos) {
+    }
+
+    private final ConcurrentHashMap<String, Entrada> cache = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public ConteoTotales(@Value("${app.listados.conteo-ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Arma la respuesta del listado según el modo de conteo pedido.
+     *
+     * @param clave    identifica la tabla en la caché de conteos
+     * @param exacto   COUNT exacto de registros activos
+     * @param estimado estimación del planificador (negativa si no hay estadísticas)
+     */
+    public <T> PaginaDto<T> paginar(Slice<T> slice, ModoConteo modo, String clave,
+            LongSupplier exacto, LongSupplier estimado) {
+
+        if (modo == ModoConteo.NINGUNO) {
+            return PaginaDto.de(slice, null, null);
+        }
+
+        long vistos = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || vistos == 0)) {
+            return PaginaDto.de(slice, vistos, TipoTotal.EXACTO);
+        }
+
+        if (modo == ModoConteo.ESTIMADO) {
+            long estimacion = estimado.getAsLong();
+            if (estimacion >= 0) {
+                // Nunca por debajo de lo que el cliente ya sabe que existe
+                // (en una página vacía más allá del final no sabe nada)
+                long minimo = slice.hasNext() ? vistos + 1 : 0;
+                return PaginaDto.de(slice, Math.max(estimacion, minimo), TipoTotal.ESTIMADO);
+            }
+        }
+
+        return PaginaDto.de(slice, contarCacheado(clave, exacto), TipoTotal.CACHEADO);
+    }
+
+    private long contarCacheado(String clave, LongSupplier exacto) {
+        Entrada entrada = cache.get(clave);
+        if (vigente(entrada)) {
+            return entrada.valor();
+        }
+        // compute serializa el recálculo: un único COUNT por expiración
+        return cache.compute(clave, (k, actual) -> vigente(actual)
+                ? actual
+                : new Entrada(exacto.getAsLong(), System.nanoTime() + ttlNanos))
+                .valor();
+    }
+
+    private static boolean vigente(Entrada entrada) {
+        return entrada != null && System.nanoTime() - entrada.expiraEnNanos() < 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bajas lógicas por conjunto, compartidas por los servicios de libros y autores.
+ *
+ * Cada baja es un UPDATE por conjunto: no se cargan entidades y las filas
+ * afectadas alcanzan para publicar los eventos de cambio (caché, índice de
+ * sugerencias, estadísticas). Solo si faltan filas se consulta cuáles ids
+ * existen, para distinguir "ya inactivo" de "no existe".
+ *
+ * Los libros usan UPDATE ... RETURNING nativo. Los autores están en la caché
+ * de segundo nivel: se bloquean y leen con un SELECT ... FOR UPDATE y se
+ * desactivan con un UPDATE JPQL, que Hibernate sí registra sobre la región.
+ *
+ * Se ejecuta dentro de la transacción del servicio que la invoca.
+ */
+@Component
+@RequiredArgsConstructor
+class Desactivaciones {
+
+    private final LibroRepository libroRepository;
+    private final AutorRepository autorRepository;
+    private final ApplicationEventPublisher eventos;
+
+    /**
+     * Desactiva los libros del conjunto.
+     *
+     * @return ids que existen (desactivados ahora o que ya estaban inactivos)
+     */
+    Set<Long> libros(Collection<Long> ids) {
+        Set<Long> existentes = new HashSet<>();
+        for (Object[] fila : libroRepository.desactivar(ids)) {
+            existentes.add(publicarBajaLibro(fila));
+        }
+        if (existentes.size() < ids.size()) {
+            existentes.addAll(libroRepository.findIdsExistentes(restantes(ids, existentes)));
+        }
+        return existentes;
+    }
+
+    /**
+     * Desactiva los autores del conjunto y, en cascada, sus libros activos.
+     * La cascada alcanza también a autores que ya estaban inactivos.
+     *
+     * @return ids de autores que existen
+     */
+    Set<Long> autores(Collection<Long> ids) {
+        Set<Long> existentes = new HashSet<>();
+        List<Object[]> activos = autorRepository.bloquearActivos(ids);
+        for (Object[] fila : activos) {
+            existentes.add(((Number) fila[0]).longValue());
+        }
+        if (!existentes.isEmpty()) {
+            autorRepository.desactivar(existentes, LocalDateTime.now());
+        }
+        for (Object[] fila : activos) {
+            AutorCambioEvent.Snapshot activo =
+                    new AutorCambioEvent.Snapshot((String) fila[1], (String) fila[2], (String) fila[3], true);
+            eventos.publishEvent(new AutorCambioEvent(((Number) fila[0]).longValue(), activo, activo.desactivado()));
+        }
+        if (existentes.size() < ids.size()) {
+            existentes.addAll(autorRepository.findIdsExistentes(restantes(ids, existentes)));
+        }
+        if (!existentes.isEmpty()) {
+            libroRepository.desactivarPorAutor(existentes).forEach(this::publicarBajaLibro);
+        }
+        return existentes;
+    }
+
+    private Long publicarBajaLibro(Object[] fila) {
+        Long id = ((Number) fila[0]).longValue();
+        LibroCambioEvent.Snapshot activo = new LibroCambioEvent.Snapshot(
+                (String) fila[1], (String) fila[2], entero(fila[3]), entero(fila[4]),
+                ((Number) fila[5]).longValue(), true);
+        eventos.publishEvent(new LibroCambioEvent(id, activo, activo.desactivado()));
+        return id;
+    }
+
+    private static List<Long> restantes(Collection<Long> ids, Set<Long> encontrados) {
+        return ids.stream().filter(id -> !encontrados.contains(id)).toList();
+    }
+
+    private static Integer entero(Object valor) {
+        return valor == null ? null : ((Number) valor).intValue();
+    }
+}
@@ -0,0 +1,226 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.AutorEstadisticasDto;
+import com.biblioteca.api.dto.comun.EstadisticasCatalogoDto;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibrosImportadosEvent;
+import com.biblioteca.api.repository.LibroRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agregados del catálogo (libros activos por género, por década y por autor,
+ * y páginas por autor) mantenidos en memoria.
+ *
+ * - Se siembran al arrancar con tres GROUP BY.
+ * - Cada LibroCambioEvent resta la contribución del estado anterior y suma
+ *   la del actual tras el commit: cubre altas, cambios de género, año o
+ *   autor y bajas lógicas. Una importación masiva los recalcula en segundo
+ *   plano (RecargaEnSegundoPlano).
+ * - Una reconciliación periódica (app.estadisticas.reconciliacion) los
+ *   recalcula desde la BD y corrige cualquier deriva. Los tres GROUP BY
+ *   leen la misma instantánea (REPEATABLE READ); si llega un evento
+ *   mientras tanto no se sabe si la instantánea ya lo incluye, así que la
+ *   carga se descarta y se repite.
+ *
+ * Las lecturas no consultan la BD: el coste no depende del tamaño del catálogo.
+ */
+@Slf4j
+@Component
+public class EstadisticasCatalogo {
+
+    static final String SIN_DATO = "sin_dato";
+
+    /** Cargas completas que se intentan antes de dejar la reconciliación para la próxima vez. */
+    static final int INTENTOS_RECONCILIACION = 3;
+
+    private record TotalesAutor(long libros, long paginas) {
+
+        TotalesAutor sumar(TotalesAutor otro) {
+            return new TotalesAutor(libros + otro.libros, paginas + otro.paginas);
+        }
+    }
+
+    /**
+     * Un juego completo de agregados. Las escrituras se serializan en
+     * EstadisticasCatalogo; los mapas concurrentes permiten leer sin bloquear.
+     */
+    private static final class Agregados {
+
+        private final AtomicLong libros = new AtomicLong();
+        private final Map<String, Long> porGenero = new ConcurrentHashMap<>();
+        private final Map<String, Long> porDecada = new ConcurrentHashMap<>();
+        private final Map<Long, TotalesAutor> porAutor = new ConcurrentHashMap<>();
+        private final LocalDateTime reconciliado = LocalDateTime.now();
+
+        void aplicar(LibroCambioEvent evento) {
+            if (evento.anterior() != null && evento.anterior().activo()) {
+                sumar(evento.anterior(), -1);
+            }
+            if (evento.actual() != null && evento.actual().activo()) {
+                sumar(evento.actual(), 1);
+            }
+        }
+
+        private void sumar(LibroCambioEvent.Snapshot libro, int signo) {
+            libros.addAndGet(signo);
+            porGenero.merge(genero(libro.genero()), (long) signo, EstadisticasCatalogo::sumarContador);
+            porDecada.merge(decada(libro.anioPublicacion()), (long) signo, EstadisticasCatalogo::sumarContador);
+            long paginas = libro.numPaginas() != null ? libro.numPaginas() : 0;
+            porAutor.merge(libro.autorId(), new TotalesAutor(signo, signo * paginas), (a, b) -> {
+                TotalesAutor suma = a.sumar(b);
+                return suma.libros() == 0 ? null : suma;
+            });
+        }
+    }
+
+    private final LibroRepository libroRepository;
+    private final TransactionTemplate lectura;
+    /** Serializa las reconciliaciones (programada, importación, arranque). */
+    private final Object reconciliacion = new Object();
+    private final RecargaEnSegundoPlano recargaImportacion =
+            new RecargaEnSegundoPlano("estadisticas-recarga", this::reconciliar);
+
+    private volatile Agregados agregados = new Agregados();
+
+    /** Eventos aplicados desde el arranque: una carga es válida si no cambió mientras duraba. */
+    private long eventos;
+
+    public EstadisticasCatalogo(LibroRepository libroRepository, PlatformTransactionManager transactionManager) {
+        this.libroRepository = libroRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lectura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // ── Consulta ──
+
+    public EstadisticasCatalogoDto catalogo() {
+        Agregados actual = agregados;
+        return new EstadisticasCatalogoDto(
+                actual.libros.get(),
+                actual.porAutor.size(),
+                new TreeMap<>(actual.porGenero),
+                new TreeMap<>(actual.porDecada),
+                actual.reconciliado);
+    }
+
+    public AutorEstadisticasDto autor(Long autorId) {
+        TotalesAutor totales = agregados.porAutor.getOrDefault(autorId, new TotalesAutor(0, 0));
+        return new AutorEstadisticasDto(autorId, totales.libros(), totales.paginas());
+    }
+
+    // ── Reconciliación ──
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sembrar() {
+        reconciliar();
+        log.info("Estadísticas del catálogo: {} libros activos, {} autores con libros",
+                agregados.libros.get(), agregados.porAutor.size());
+    }
+
+    /**
+     * Recalcula los agregados desde la BD y reemplaza los actuales.
+     *
+     * Un evento aplicado durante la carga puede corresponder a un commit
+     * anterior o posterior a la instantánea: reaplicarlo podría contarlo dos
+     * veces y descartarlo, ninguna. En ese caso la carga se repite; tras
+     * INTENTOS_RECONCILIACION cargas interrumpidas se conservan los
+     * agregados actuales hasta la próxima reconciliación.
+     */
+    @Scheduled(initialDelayString = "${app.estadisticas.reconciliacion:15m}",
+            fixedDelayString = "${app.estadisticas.reconciliacion:15m}")
+    public void reconciliar() {
+        synchronized (reconciliacion) {
+            for (int intento = 1; intento <= INTENTOS_RECONCILIACION; intento++) {
+                long antes;
+                synchronized (this) {
+                    antes = eventos;
+                }
+                Agregados nuevos = lectura.execute(estado -> cargar());
+
+                synchronized (this) {
+                    if (eventos == antes) {
+                        long deriva = nuevos.libros.get() - agregados.libros.get();
+                        if (deriva != 0) {
+                            log.info("Estadísticas del catálogo reconciliadas: deriva de {} libros", deriva);
+                        }
+                        agregados = nuevos;
+                        return;
+                    }
+                }
+            }
+            log.warn("Estadísticas del catálogo sin reconciliar: {} cargas interrumpidas por cambios",
+                    INTENTOS_RECONCILIACION);
+        }
+    }
+
+    private Agregados cargar() {
+        Agregados nuevos = new Agregados();
+        for (Object[] fila : libroRepository.contarActivosPorGenero()) {
+            long libros = ((Number) fila[1]).longValue();
+            nuevos.libros.addAndGet(libros);
+            nuevos.porGenero.merge(genero((String) fila[0]), libros, Long::sum);
+        }
+        for (Object[] fila : libroRepository.contarActivosPorAnio()) {
+            nuevos.porDecada.merge(decada((Integer) fila[0]), ((Number) fila[1]).longValue(), Long::sum);
+        }
+        for (Object[] fila : libroRepository.contarActivosPorAutor()) {
+            nuevos.porAutor.put((Long) fila[0],
+                    new TotalesAutor(((Number) fila[1]).longValue(), ((Number) fila[2]).longValue()));
+        }
+        return nuevos;
+    }
+
+    // ── Mantenimiento (tras el commit) ──
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void alCambiarLibro(LibroCambioEvent evento) {
+        eventos++;
+        agregados.aplicar(evento);
+    }
+
+    /**
+     * La importación no publica un evento por fila: se recalcula todo, fuera
+     * del hilo de la petición y agrupando las importaciones seguidas.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alImportarLibros(LibrosImportadosEvent evento) {
+        recargaImportacion.solicitar();
+    }
+
+    @PreDestroy
+    void detener() {
+        recargaImportacion.close();
+    }
+
+    private static String genero(String genero) {
+        return genero == null || genero.isBlank() ? SIN_DATO : genero;
+    }
+
+    private static String decada(Integer anio) {
+        return anio == null ? SIN_DATO : String.valueOf(Math.floorDiv(anio, 10) * 10);
+    }
+
+    /** Suma para Map.merge: un contador que llega a cero sale del mapa. */
+    private static Long sumarContador(Long a, Long b) {
+        long suma = a + b;
+        return suma == 0 ? null : suma;
+    }
+}
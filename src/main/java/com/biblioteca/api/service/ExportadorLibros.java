@@ -0,0 +1,78 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.util.Csv;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Escribe un stream de libros directo a la salida HTTP, fila por fila.
+ * Nada se acumula en memoria: cada fila se serializa al buffer de salida
+ * y se descarta.
+ */
+@Component
+public class ExportadorLibros {
+
+    private static final String CABECERA_CSV = "id,titulo,isbn,genero,anio_publicacion,num_paginas,"
+            + "autor_id,autor_nombre_completo,created_at,updated_at";
+
+    private final ObjectWriter writer;
+
+    public ExportadorLibros(ObjectMapper objectMapper) {
+        // Sin flush por valor: se vacía cuando se llena el buffer del generador
+        this.writer = objectMapper.writerFor(LibroResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * NDJSON: un objeto JSON por línea, con la misma configuración
+     * (SNAKE_CASE, non_null) que el resto de la API.
+     */
+    public void ndjson(Stream<LibroResponseDto> libros, OutputStream salida) throws IOException {
+        try (JsonGenerator generador = writer.createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generador.setRootValueSeparator(null);
+
+            for (Iterator<LibroResponseDto> it = libros.iterator(); it.hasNext(); ) {
+                writer.writeValue(generador, it.next());
+                generador.writeRaw('\n');
+            }
+        }
+    }
+
+    public void csv(Stream<LibroResponseDto> libros, OutputStream salida) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        csv.write(CABECERA_CSV);
+        csv.write('\n');
+
+        for (Iterator<LibroResponseDto> it = libros.iterator(); it.hasNext(); ) {
+            LibroResponseDto libro = it.next();
+            csv.write(String.join(String.valueOf(Csv.SEPARADOR),
+                    Csv.escapar(libro.id()),
+                    Csv.escapar(libro.titulo()),
+                    Csv.escapar(libro.isbn()),
+                    Csv.escapar(libro.genero()),
+                    Csv.escapar(libro.anioPublicacion()),
+                    Csv.escapar(libro.numPaginas()),
+                    Csv.escapar(libro.autorId()),
+                    Csv.escapar(libro.autorNombreCompleto()),
+                    Csv.escapar(libro.createdAt()),
+                    Csv.escapar(libro.updatedAt())));
+            csv.write('\n');
+        }
+        // flush sin close: el contenedor cierra la respuesta
+        csv.flush();
+    }
+}
@@ -0,0 +1,15 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.FormatoArchivo;
+import com.biblioteca.api.dto.libro.ImportacionResultadoDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Contrato de la importación masiva de libros (carga inicial y re-sincronización).
+ */
+public interface ImportacionLibrosService {
+
+    ImportacionResultadoDto importar(FormatoArchivo formato, InputStream entrada) throws IOException;
+}
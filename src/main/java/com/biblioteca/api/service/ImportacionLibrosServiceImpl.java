@@ -0,0 +1,379 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.FormatoArchivo;
+import com.biblioteca.api.dto.libro.ImportacionResultadoDto;
+import com.biblioteca.api.dto.libro.LibroRequestDto;
+import com.biblioteca.api.event.LibrosImportadosEvent;
+import com.biblioteca.api.exception.BadRequestException;
+import com.biblioteca.api.exception.DuplicateResourceException;
+import com.biblioteca.api.exception.ResourceNotFoundException;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.util.Csv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de libros vía PostgreSQL COPY.
+ *
+ * Flujo:
+ * 1. Lee el archivo de forma incremental (CSV o NDJSON), fila por fila.
+ * 2. Valida cada fila con las reglas de LibroRequestDto y, por bloques,
+ *    que el autor exista (una consulta IN por bloque).
+ * 3. Carga las filas válidas con COPY en una tabla temporal de staging.
+ * 4. Descarta ISBN repetidos dentro del archivo (gana la primera fila).
+ * 5. Fusiona staging → libros con un único INSERT ... ON CONFLICT (isbn):
+ *    inserta los nuevos y actualiza (y reactiva) los existentes.
+ *
+ * Todo ocurre en una transacción: si algo falla, no se importa nada.
+ * Las filas sin ISBN no tienen clave de fusión y siempre se insertan.
+ */
+@Service
+@Transactional
+public class ImportacionLibrosServiceImpl implements ImportacionLibrosService {
+
+    private static final int TAMANIO_BLOQUE = 5_000;
+    private static final int MAXIMO_ERRORES_DETALLADOS = 1_000;
+    private static final String BOM = "\uFEFF";
+
+    private static final String CREAR_STAGING = """
+            CREATE TEMP TABLE libros_staging (
+                fila             BIGINT,
+                titulo           VARCHAR(255),
+                isbn             VARCHAR(13),
+                genero           VARCHAR(80),
+                anio_publicacion INTEGER,
+                num_paginas      INTEGER,
+                autor_id         BIGINT
+            ) ON COMMIT DROP""";
+
+    private static final String COPIAR_STAGING = "COPY libros_staging "
+            + "(fila, titulo, isbn, genero, anio_publicacion, num_paginas, autor_id) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String DEDUPLICAR_ISBN = """
+            DELETE FROM libros_staging s
+            USING libros_staging t
+            WHERE s.isbn = t.isbn AND s.fila > t.fila
+            RETURNING s.fila, s.isbn""";
+
+    private static final String FUSIONAR = """
+            WITH fusion AS (
+                INSERT INTO libros (id, titulo, isbn, genero, anio_publicacion, num_paginas,
+                                    autor_id, activo, created_at, updated_at)
+                SELECT nextval('libros_id_seq'), titulo, isbn, genero, anio_publicacion, num_paginas,
+                       autor_id, TRUE, LOCALTIMESTAMP, LOCALTIMESTAMP
+                FROM libros_staging
+                ORDER BY fila
+                ON CONFLICT (isbn) DO UPDATE SET
+                    titulo           = EXCLUDED.titulo,
+                    genero           = EXCLUDED.genero,
+                    anio_publicacion = EXCLUDED.anio_publicacion,
+                    num_paginas      = EXCLUDED.num_paginas,
+                    autor_id         = EXCLUDED.autor_id,
+                    activo           = TRUE,
+                    updated_at       = LOCALTIMESTAMP
+                RETURNING (xmax = 0) AS insertado
+            )
+            SELECT COUNT(*) FILTER (WHERE insertado)     AS insertadas,
+                   COUNT(*) FILTER (WHERE NOT insertado) AS actualizadas
+            FROM fusion""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AutorRepository autorRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventos;
+    private final ObjectReader lectorJson;
+
+    public ImportacionLibrosServiceImpl(JdbcTemplate jdbcTemplate, AutorRepository autorRepository,
+            Validator validator, ApplicationEventPublisher eventos, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.autorRepository = autorRepository;
+        this.validator = validator;
+        this.eventos = eventos;
+        this.lectorJson = objectMapper.readerFor(LibroRequestDto.class);
+    }
+
+    /** Fila leída del archivo: el DTO o el motivo por el que no se pudo leer. */
+    private record Fila(long numero, LibroRequestDto dto, String error) {
+    }
+
+    /** Fuente incremental de filas; null al terminar el archivo. */
+    @FunctionalInterface
+    private interface LectorFilas {
+        Fila siguiente() throws IOException;
+    }
+
+    @Override
+    public ImportacionResultadoDto importar(FormatoArchivo formato, InputStream entrada) throws IOException {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        LectorFilas filas = formato == FormatoArchivo.CSV ? lectorCsv(lector) : lectorNdjson(lector);
+        Reporte reporte = new Reporte();
+
+        jdbcTemplate.execute(CREAR_STAGING);
+
+        List<Fila> bloque = new ArrayList<>(TAMANIO_BLOQUE);
+        Fila fila;
+        while ((fila = filas.siguiente()) != null) {
+            reporte.leidas++;
+            String error = fila.error() != null ? fila.error() : validar(fila.dto());
+            if (error != null) {
+                reporte.rechazar(fila.numero(), error);
+                continue;
+            }
+            bloque.add(fila);
+            if (bloque.size() == TAMANIO_BLOQUE) {
+                cargarBloque(bloque, reporte);
+                bloque.clear();
+            }
+        }
+        cargarBloque(bloque, reporte);
+
+        jdbcTemplate.query(DEDUPLICAR_ISBN, (RowCallbackHandler) rs -> reporte.rechazar(
+                rs.getLong("fila"),
+                new DuplicateResourceException("Libro (ISBN)", rs.getString("isbn")).getMessage()
+                        + " (repetido en el archivo)"));
+
+        jdbcTemplate.execute("ANALYZE libros_staging");
+        jdbcTemplate.query(FUSIONAR, (RowCallbackHandler) rs -> {
+            reporte.insertadas = rs.getLong("insertadas");
+            reporte.actualizadas = rs.getLong("actualizadas");
+        });
+
+        eventos.publishEvent(new LibrosImportadosEvent(reporte.insertadas, reporte.actualizadas));
+        return reporte.toDto();
+    }
+
+    // ── Validación y carga ──
+
+    /**
+     * Mismas reglas que @Valid sobre LibroRequestDto, más los límites
+     * de longitud de las columnas (que de otro modo harían fallar el COPY).
+     */
+    private String validar(LibroRequestDto dto) {
+        Set<ConstraintViolation<LibroRequestDto>> violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            return Lotes.mensaje(violaciones);
+        }
+        if (dto.titulo().length() > 255) {
+            return "titulo: no puede superar 255 caracteres";
+        }
+        if (dto.genero() != null && dto.genero().length() > 80) {
+            return "genero: no puede superar 80 caracteres";
+        }
+        return null;
+    }
+
+    /**
+     * Descarta las filas cuyo autor no existe (una consulta IN por bloque)
+     * y copia el resto a staging con un único COPY.
+     */
+    private void cargarBloque(List<Fila> bloque, Reporte reporte) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+        Set<Long> autores = autorRepository.findIdsExistentes(bloque.stream()
+                .map(f -> f.dto().autorId())
+                .collect(Collectors.toSet()));
+
+        StringBuilder csv = new StringBuilder(bloque.size() * 96);
+        for (Fila fila : bloque) {
+            LibroRequestDto dto = fila.dto();
+            if (!autores.contains(dto.autorId())) {
+                reporte.rechazar(fila.numero(),
+                        new ResourceNotFoundException("Autor", dto.autorId()).getMessage());
+                continue;
+            }
+            csv.append(fila.numero()).append(Csv.SEPARADOR)
+                    .append(citar(dto.titulo())).append(Csv.SEPARADOR)
+                    .append(citar(dto.isbn())).append(Csv.SEPARADOR)
+                    .append(citar(dto.genero())).append(Csv.SEPARADOR)
+                    .append(numero(dto.anioPublicacion())).append(Csv.SEPARADOR)
+                    .append(numero(dto.numPaginas())).append(Csv.SEPARADOR)
+                    .append(dto.autorId())
+                    .append('\n');
+        }
+
+        byte[] datos = csv.toString().getBytes(StandardCharsets.UTF_8);
+        if (datos.length > 0) {
+            copiar(datos);
+        }
+    }
+
+    /**
+     * COPY FROM STDIN sobre la misma conexión de la transacción en curso.
+     */
+    private void copiar(byte[] datos) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) conexion -> {
+            try {
+                return conexion.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPIAR_STAGING, new ByteArrayInputStream(datos));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * En COPY csv un campo vacío sin comillas es NULL; los textos van
+     * siempre entre comillas para que no se confundan con NULL ni con el
+     * marcador de fin de datos.
+     */
+    private static String citar(String valor) {
+        return valor == null ? "" : '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private static String numero(Integer valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    // ── Lectores incrementales ──
+
+    /**
+     * CSV con cabecera. Columnas reconocidas (en cualquier orden):
+     * titulo, isbn, genero, anio_publicacion, num_paginas, autor_id.
+     */
+    private LectorFilas lectorCsv(BufferedReader lector) throws IOException {
+        List<String> cabecera = Csv.leerRegistro(lector);
+        if (cabecera == null) {
+            throw new BadRequestException("El archivo CSV está vacío");
+        }
+
+        // Marca de orden de bytes UTF-8 (Excel): solo puede preceder a la primera columna
+        if (!cabecera.isEmpty() && cabecera.get(0).startsWith(BOM)) {
+            cabecera.set(0, cabecera.get(0).substring(BOM.length()));
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            columnas.put(cabecera.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columnas.containsKey("titulo") || !columnas.containsKey("autor_id")) {
+            throw new BadRequestException("La cabecera CSV debe incluir las columnas titulo y autor_id");
+        }
+
+        long[] numero = {0};
+        return () -> {
+            List<String> campos;
+            do {
+                campos = Csv.leerRegistro(lector);
+            } while (campos != null && campos.size() == 1 && campos.get(0).isBlank());
+
+            if (campos == null) {
+                return null;
+            }
+            numero[0]++;
+            try {
+                return new Fila(numero[0], new LibroRequestDto(
+                        texto(campos, columnas, "titulo"),
+                        texto(campos, columnas, "isbn"),
+                        texto(campos, columnas, "genero"),
+                        entero(campos, columnas, "anio_publicacion"),
+                        entero(campos, columnas, "num_paginas"),
+                        largo(campos, columnas, "autor_id")), null);
+            } catch (IllegalArgumentException ex) {
+                return new Fila(numero[0], null, ex.getMessage());
+            }
+        };
+    }
+
+    /**
+     * NDJSON: un LibroRequestDto por línea, con las mismas claves
+     * snake_case que acepta POST /api/v1/libros.
+     */
+    private LectorFilas lectorNdjson(BufferedReader lector) {
+        long[] numero = {0};
+        return () -> {
+            String linea;
+            do {
+                linea = lector.readLine();
+            } while (linea != null && linea.isBlank());
+
+            if (linea == null) {
+                return null;
+            }
+            numero[0]++;
+            try {
+                return new Fila(numero[0], lectorJson.readValue(linea), null);
+            } catch (JsonProcessingException ex) {
+                return new Fila(numero[0], null, "JSON inválido: " + ex.getOriginalMessage());
+            }
+        };
+    }
+
+    private static String texto(List<String> campos, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static Integer entero(List<String> campos, Map<String, Integer> columnas, String columna) {
+        String valor = texto(campos, columnas, columna);
+        try {
+            return valor == null ? null : Integer.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(columna + ": '" + valor + "' no es un número entero");
+        }
+    }
+
+    private static Long largo(List<String> campos, Map<String, Integer> columnas, String columna) {
+        String valor = texto(campos, columnas, columna);
+        try {
+            return valor == null ? null : Long.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(columna + ": '" + valor + "' no es un número entero");
+        }
+    }
+
+    // ── Reporte ──
+
+    private static final class Reporte {
+
+        private long leidas;
+        private long insertadas;
+        private long actualizadas;
+        private long rechazadas;
+        private final List<ImportacionResultadoDto.ErrorFila> errores = new ArrayList<>();
+
+        void rechazar(long fila, String motivo) {
+            rechazadas++;
+            if (errores.size() < MAXIMO_ERRORES_DETALLADOS) {
+                errores.add(new ImportacionResultadoDto.ErrorFila(fila, motivo));
+            }
+        }
+
+        ImportacionResultadoDto toDto() {
+            errores.sort(Comparator.comparingLong(ImportacionResultadoDto.ErrorFila::fila));
+            return new ImportacionResultadoDto(leidas, insertadas, actualizadas, rechazadas,
+                    errores, rechazadas > errores.size());
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.IndiceEstadisticasDto;
+import com.biblioteca.api.dto.comun.SugerenciaDto;
+import com.biblioteca.api.util.Texto;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Índice de prefijos en memoria (autocompletado), compacto y ordenado.
+ *
+ * Estructura tipo LSM:
+ * - Base inmutable: claves normalizadas y textos originales en dos arreglos
+ *   UTF-8 contiguos, con offsets int[] e ids long[], ordenados por
+ *   (clave, id). Un prefijo es un rango contiguo: búsqueda binaria y
+ *   recorrido secuencial, sin un objeto por entrada.
+ * - Altas y bajas recientes en estructuras concurrentes pequeñas; al superar
+ *   un umbral se fusionan en una base nueva (compactación).
+ *
+ * Las lecturas no bloquean; las escrituras se serializan.
+ */
+final class IndicePrefijos {
+
+    /** Entrada pendiente de fusionar; ordena como la base (UTF-8 sin signo, luego id). */
+    private record Clave(byte[] clave, long id) implements Comparable<Clave> {
+
+        @Override
+        public int compareTo(Clave otra) {
+            int comparacion = Arrays.compareUnsigned(clave, otra.clave);
+            return comparacion != 0 ? comparacion : Long.compare(id, otra.id);
+        }
+    }
+
+    private record Base(byte[] claves, int[] inicioClaves, byte[] textos, int[] inicioTextos, long[] ids) {
+
+        static final Base VACIA = new Base(new byte[0], new int[1], new byte[0], new int[1], new long[0]);
+
+        int tamanio() {
+            return ids.length;
+        }
+
+        Clave clave(int i) {
+            return new Clave(Arrays.copyOfRange(claves, inicioClaves[i], inicioClaves[i + 1]), ids[i]);
+        }
+
+        String texto(int i) {
+            return new String(textos, inicioTextos[i], inicioTextos[i + 1] - inicioTextos[i], StandardCharsets.UTF_8);
+        }
+
+        boolean empiezaCon(int i, byte[] prefijo) {
+            int inicio = inicioClaves[i];
+            return inicioClaves[i + 1] - inicio >= prefijo.length
+                    && Arrays.equals(claves, inicio, inicio + prefijo.length, prefijo, 0, prefijo.length);
+        }
+
+        /** Primera posición cuya clave es >= prefijo. */
+        int primeraDesde(byte[] prefijo) {
+            int bajo = 0;
+            int alto = tamanio();
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                int comparacion = Arrays.compareUnsigned(
+                        claves, inicioClaves[medio], inicioClaves[medio + 1], prefijo, 0, prefijo.length);
+                if (comparacion < 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        long bytes() {
+            // 16 bytes de cabecera por arreglo
+            return 5 * 16L + claves.length + textos.length
+                    + 4L * (inicioClaves.length + inicioTextos.length) + 8L * ids.length;
+        }
+    }
+
+    private record Estado(Base base, ConcurrentSkipListMap<Clave, String> altas, ConcurrentSkipListSet<Clave> bajas) {
+
+        static Estado de(Base base) {
+            return new Estado(base, new ConcurrentSkipListMap<>(), new ConcurrentSkipListSet<>());
+        }
+    }
+
+    private record Operacion(long id, String texto, boolean alta) {
+    }
+
+    private record Fila(Clave clave, String texto) {
+    }
+
+    private final String tipo;
+    private volatile Estado estado = Estado.de(Base.VACIA);
+
+    /** Operaciones recibidas durante una reconstrucción, para reaplicarlas al terminar. */
+    private List<Operacion> registro;
+
+    IndicePrefijos(String tipo) {
+        this.tipo = tipo;
+    }
+
+    // ── Consulta ──
+
+    /**
+     * Hasta "limite" entradas cuya clave normalizada empieza con el prefijo,
+     * en orden alfabético de la clave.
+     */
+    List<SugerenciaDto> buscar(String prefijo, int limite) {
+        Estado actual = estado;
+        Base base = actual.base();
+        byte[] buscado = utf8(Texto.normalizar(prefijo));
+
+        List<SugerenciaDto> resultados = new ArrayList<>(limite);
+        int i = base.primeraDesde(buscado);
+        Iterator<Map.Entry<Clave, String>> altas =
+                actual.altas().tailMap(new Clave(buscado, Long.MIN_VALUE)).entrySet().iterator();
+        Map.Entry<Clave, String> alta = siguiente(altas, buscado);
+
+        while (resultados.size() < limite) {
+            boolean hayBase = i < base.tamanio() && base.empiezaCon(i, buscado);
+            if (!hayBase && alta == null) {
+                break;
+            }
+            Clave claveBase = hayBase ? base.clave(i) : null;
+            int orden = !hayBase ? 1 : alta == null ? -1 : claveBase.compareTo(alta.getKey());
+
+            if (orden < 0) {
+                if (!actual.bajas().contains(claveBase)) {
+                    resultados.add(new SugerenciaDto(tipo, claveBase.id(), base.texto(i)));
+                }
+                i++;
+            } else {
+                // Una alta con la misma clave reemplaza a la entrada de la base
+                resultados.add(new SugerenciaDto(tipo, alta.getKey().id(), alta.getValue()));
+                if (orden == 0) {
+                    i++;
+                }
+                alta = siguiente(altas, buscado);
+            }
+        }
+        return resultados;
+    }
+
+    private static Map.Entry<Clave, String> siguiente(Iterator<Map.Entry<Clave, String>> altas, byte[] prefijo) {
+        if (!altas.hasNext()) {
+            return null;
+        }
+        Map.Entry<Clave, String> entrada = altas.next();
+        byte[] clave = entrada.getKey().clave();
+        return clave.length >= prefijo.length
+                && Arrays.equals(clave, 0, prefijo.length, prefijo, 0, prefijo.length)
+                ? entrada
+                : null;
+    }
+
+    // ── Escritura ──
+
+    synchronized void agregar(long id, String texto) {
+        aplicar(new Operacion(id, texto, true));
+    }
+
+    synchronized void quitar(long id, String texto) {
+        aplicar(new Operacion(id, texto, false));
+    }
+
+    private void aplicar(Operacion operacion) {
+        if (registro != null) {
+            registro.add(operacion);
+        }
+        String normalizado = Texto.normalizar(operacion.texto());
+        if (normalizado.isEmpty()) {
+            return;
+        }
+
+        Clave clave = new Clave(utf8(normalizado), operacion.id());
+        Estado actual = estado;
+        if (operacion.alta()) {
+            actual.altas().put(clave, operacion.texto());
+        } else {
+            actual.altas().remove(clave);
+            actual.bajas().add(clave);
+        }
+
+        if (actual.altas().size() + actual.bajas().size() > Math.max(1_024, actual.base().tamanio() / 16)) {
+            compactar();
+        }
+    }
+
+    /**
+     * Fusiona base + altas − bajas en una base nueva (merge de dos secuencias ordenadas).
+     */
+    private void compactar() {
+        Estado actual = estado;
+        Base base = actual.base();
+        Constructor constructor = new Constructor(base.tamanio() + actual.altas().size());
+
+        Iterator<Map.Entry<Clave, String>> altas = actual.altas().entrySet().iterator();
+        Map.Entry<Clave, String> alta = altas.hasNext() ? altas.next() : null;
+        for (int i = 0; i < base.tamanio(); i++) {
+            Clave claveBase = base.clave(i);
+            while (alta != null && alta.getKey().compareTo(claveBase) < 0) {
+                constructor.agregar(alta.getKey(), alta.getValue());
+                alta = altas.hasNext() ? altas.next() : null;
+            }
+            if (alta != null && alta.getKey().compareTo(claveBase) == 0) {
+                continue;
+            }
+            if (!actual.bajas().contains(claveBase)) {
+                constructor.agregar(claveBase, base.texto(i));
+            }
+        }
+        while (alta != null) {
+            constructor.agregar(alta.getKey(), alta.getValue());
+            alta = altas.hasNext() ? altas.next() : null;
+        }
+        estado = Estado.de(constructor.construir());
+    }
+
+    /**
+     * Reemplaza el contenido por el de la fuente (por ejemplo, la BD).
+     * Las escrituras que llegan mientras tanto se reaplican sobre la base nueva.
+     */
+    void reconstruir(Stream<SugerenciaDto> fuente) {
+        synchronized (this) {
+            registro = new ArrayList<>();
+        }
+        try {
+            List<Fila> filas = fuente
+                    .map(s -> new Fila(new Clave(utf8(Texto.normalizar(s.texto())), s.id()), s.texto()))
+                    .filter(f -> f.clave().clave().length > 0)
+                    .sorted(Comparator.comparing(Fila::clave))
+                    .toList();
+
+            Constructor constructor = new Constructor(filas.size());
+            filas.forEach(f -> constructor.agregar(f.clave(), f.texto()));
+            Base base = constructor.construir();
+
+            synchronized (this) {
+                List<Operacion> pendientes = registro;
+                registro = null;
+                estado = Estado.de(base);
+                pendientes.forEach(this::aplicar);
+            }
+        } finally {
+            synchronized (this) {
+                registro = null;
+            }
+        }
+    }
+
+    // ── Estadísticas ──
+
+    IndiceEstadisticasDto estadisticas() {
+        Estado actual = estado;
+        Base base = actual.base();
+        long bytes = base.bytes();
+        return new IndiceEstadisticasDto(
+                tipo,
+                base.tamanio(),
+                bytes,
+                base.tamanio() == 0 ? 0 : (double) bytes / base.tamanio(),
+                actual.altas().size() + actual.bajas().size());
+    }
+
+    private static byte[] utf8(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Arma los arreglos de una base a partir de entradas ya ordenadas.
+     */
+    private static final class Constructor {
+
+        private final ByteArrayOutputStream claves = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream textos = new ByteArrayOutputStream();
+        private int[] inicioClaves;
+        private int[] inicioTextos;
+        private long[] ids;
+        private int tamanio;
+
+        Constructor(int capacidad) {
+            inicioClaves = new int[capacidad + 1];
+            inicioTextos = new int[capacidad + 1];
+            ids = new long[capacidad];
+        }
+
+        void agregar(Clave clave, String texto) {
+            if (tamanio == ids.length) {
+                int capacidad = Math.max(16, tamanio * 2);
+                inicioClaves = Arrays.copyOf(inicioClaves, capacidad + 1);
+                inicioTextos = Arrays.copyOf(inicioTextos, capacidad + 1);
+                ids = Arrays.copyOf(ids, capacidad);
+            }
+            claves.writeBytes(clave.clave());
+            textos.writeBytes(utf8(texto));
+            ids[tamanio] = clave.id();
+            tamanio++;
+            inicioClaves[tamanio] = claves.size();
+            inicioTextos[tamanio] = textos.size();
+        }
+
+        Base construir() {
+            return new Base(
+                    claves.toByteArray(),
+                    Arrays.copyOf(inicioClaves, tamanio + 1),
+                    textos.toByteArray(),
+                    Arrays.copyOf(inicioTextos, tamanio + 1),
+                    Arrays.copyOf(ids, tamanio));
+        }
+    }
+}
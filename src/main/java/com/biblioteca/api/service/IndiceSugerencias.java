@@ -0,0 +1,156 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.IndiceEstadisticasDto;
+import com.biblioteca.api.dto.comun.SugerenciaDto;
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibrosImportadosEvent;
+import com.biblioteca.api.exception.BadRequestException;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroRepository;
+import com.biblioteca.api.util.Texto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletado de títulos y autores servido desde memoria.
+ *
+ * - Se construye al arrancar leyendo libros y autores activos.
+ * - Se mantiene con los eventos de dominio tras cada commit
+ *   (crear / actualizar / eliminar); una importación masiva reconstruye el
+ *   de libros en segundo plano (RecargaEnSegundoPlano).
+ * - Las consultas nunca tocan la BD.
+ *
+ * Hasta que termina la carga inicial, las sugerencias salen vacías.
+ */
+@Slf4j
+@Component
+public class IndiceSugerencias {
+
+    public static final String LIBRO = "libro";
+    public static final String AUTOR = "autor";
+
+    private final IndicePrefijos libros = new IndicePrefijos(LIBRO);
+    private final IndicePrefijos autores = new IndicePrefijos(AUTOR);
+
+    private final LibroRepository libroRepository;
+    private final AutorRepository autorRepository;
+    private final TransactionTemplate lectura;
+    private final RecargaEnSegundoPlano recargaImportacion =
+            new RecargaEnSegundoPlano("sugerencias-recarga", this::reconstruirLibros);
+
+    public IndiceSugerencias(LibroRepository libroRepository, AutorRepository autorRepository,
+            PlatformTransactionManager transactionManager) {
+        this.libroRepository = libroRepository;
+        this.autorRepository = autorRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        // Los listeners AFTER_COMMIT siguen dentro de la sincronización de la
+        // transacción que terminó: se abre una nueva para leer
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ── Consulta ──
+
+    /**
+     * Hasta "limite" sugerencias cuyo texto normalizado (sin acentos ni
+     * mayúsculas) empieza con el prefijo. tipo null = libros y autores.
+     */
+    public List<SugerenciaDto> sugerir(String prefijo, String tipo, int limite) {
+        if (tipo != null && !LIBRO.equals(tipo) && !AUTOR.equals(tipo)) {
+            throw new BadRequestException("Tipo de sugerencia no soportado: '" + tipo
+                    + "'. Valores válidos: " + LIBRO + ", " + AUTOR);
+        }
+        if (LIBRO.equals(tipo)) {
+            return libros.buscar(prefijo, limite);
+        }
+        if (AUTOR.equals(tipo)) {
+            return autores.buscar(prefijo, limite);
+        }
+
+        List<SugerenciaDto> todas = new ArrayList<>(libros.buscar(prefijo, limite));
+        todas.addAll(autores.buscar(prefijo, limite));
+        todas.sort(Comparator.comparing(s -> Texto.normalizar(s.texto())));
+        return todas.size() > limite ? todas.subList(0, limite) : todas;
+    }
+
+    public List<IndiceEstadisticasDto> estadisticas() {
+        return List.of(libros.estadisticas(), autores.estadisticas());
+    }
+
+    // ── Construcción ──
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        reconstruirLibros();
+        reconstruir(autores, autorRepository::streamSugerencias);
+        estadisticas().forEach(e -> log.info("Índice de sugerencias '{}': {} entradas, {} bytes ({} bytes/entrada)",
+                e.indice(), e.entradas(), e.bytes(), Math.round(e.bytesPorEntrada())));
+    }
+
+    private void reconstruirLibros() {
+        reconstruir(libros, libroRepository::streamSugerencias);
+    }
+
+    private void reconstruir(IndicePrefijos indice, Supplier<Stream<SugerenciaDto>> fuente) {
+        lectura.executeWithoutResult(estado -> {
+            try (Stream<SugerenciaDto> sugerencias = fuente.get()) {
+                indice.reconstruir(sugerencias);
+            }
+        });
+    }
+
+    // ── Mantenimiento (tras el commit) ──
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alCambiarLibro(LibroCambioEvent evento) {
+        if (evento.anterior() != null && evento.anterior().activo()) {
+            libros.quitar(evento.libroId(), evento.anterior().titulo());
+        }
+        if (evento.actual() != null && evento.actual().activo()) {
+            libros.agregar(evento.libroId(), evento.actual().titulo());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alCambiarAutor(AutorCambioEvent evento) {
+        if (evento.anterior() != null && evento.anterior().activo()) {
+            autores.quitar(evento.autorId(), texto(evento.anterior()));
+        }
+        if (evento.actual() != null && evento.actual().activo()) {
+            autores.agregar(evento.autorId(), texto(evento.actual()));
+        }
+    }
+
+    /**
+     * La importación no publica un evento por fila: se reconstruye el índice
+     * de libros fuera del hilo de la petición.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alImportarLibros(LibrosImportadosEvent evento) {
+        recargaImportacion.solicitar();
+    }
+
+    @PreDestroy
+    void detener() {
+        recargaImportacion.close();
+    }
+
+    private static String texto(AutorCambioEvent.Snapshot autor) {
+        return autor.apellido() + ", " + autor.nombre();
+    }
+}
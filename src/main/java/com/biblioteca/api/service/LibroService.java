@@ -1,11 +1,25 @@
 package com.biblioteca.api.service;
 
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.FormatoArchivo;
+import com.biblioteca.api.dto.comun.LoteResultadoDto;
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
+import com.biblioteca.api.dto.libro.CampoLibro;
+import com.biblioteca.api.dto.libro.LibroFiltroDto;
 import com.biblioteca.api.dto.libro.LibroRequestDto;
 import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.dto.libro.LibroVersionadoDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Contrato de la capa de servicio para Libros.
@@ -15,13 +29,32 @@ public interface LibroService {
 
     LibroResponseDto crear(LibroRequestDto dto);
 
+    LoteResultadoDto<LibroResponseDto> crearLote(List<LibroRequestDto> dtos);
+
     LibroResponseDto buscarPorId(Long id);
 
-    Page<LibroResponseDto> listar(Pageable pageable);
+    LibroVersionadoDto buscarVersionado(Long id);
+
+    PorIdsDto<LibroResponseDto> buscarPorIds(List<Long> ids);
+
+    LocalDateTime version(Long id);
+
+    Page<LibroResponseDto> listar(Pageable pageable, LibroFiltroDto filtro, Set<CampoLibro> campos);
+
+    PaginaDto<LibroResponseDto> listar(Pageable pageable, ModoConteo modo, LibroFiltroDto filtro,
+            Set<CampoLibro> campos);
+
+    CursorPageDto<LibroResponseDto> listarPorCursor(String cursor, int size, Sort sort);
+
+    PaginaDto<LibroResponseDto> buscar(String consulta, Pageable pageable);
 
     LibroResponseDto actualizar(Long id, LibroRequestDto dto);
 
     void eliminar(Long id);
 
-    List<LibroResponseDto> listarPorAutor(Long autorId);
+    PorIdsDto<Long> eliminarLote(List<Long> ids);
+
+    CursorPageDto<LibroResponseDto> listarPorAutor(Long autorId, String cursor, int size);
+
+    void exportar(FormatoArchivo formato, OutputStream salida) throws IOException;
 }
@@ -1,40 +1,100 @@
 package com.biblioteca.api.service;
 
+import com.biblioteca.api.dto.comun.CursorPageDto;
+import com.biblioteca.api.dto.comun.FormatoArchivo;
+import com.biblioteca.api.dto.comun.LoteItemDto;
+import com.biblioteca.api.dto.comun.LoteResultadoDto;
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.PorIdsDto;
+import com.biblioteca.api.dto.comun.TipoTotal;
+import com.biblioteca.api.dto.libro.CampoLibro;
+import com.biblioteca.api.dto.libro.LibroFiltroDto;
 import com.biblioteca.api.dto.libro.LibroRequestDto;
 import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.dto.libro.LibroVersionadoDto;
 import com.biblioteca.api.entity.AutorEntity;
 import com.biblioteca.api.entity.LibroEntity;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.exception.BadRequestException;
 import com.biblioteca.api.exception.DuplicateResourceException;
 import com.biblioteca.api.exception.ResourceNotFoundException;
+import com.biblioteca.api.mapper.CursorMapper;
 import com.biblioteca.api.mapper.LibroMapper;
 import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroFiltros;
 import com.biblioteca.api.repository.LibroRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación de los casos de uso de Libros.
  * Contiene TODA la lógica de negocio.
+ * Cada método público se mide en biblioteca.servicio{class, method}.
  */
 @Service
+@Timed(value = "biblioteca.servicio", extraTags = {"servicio", "libros"})
 @RequiredArgsConstructor
 @Transactional
 public class LibroServiceImpl implements LibroService {
 
+    /** Campos ordenables en modo cursor → conversor desde el cursor. */
+    private static final Map<String, Function<String, Object>> CAMPOS_CURSOR = Map.of(
+            "id", Long::valueOf,
+            "titulo", valor -> valor,
+            "createdAt", LocalDateTime::parse);
+
+    /** Libros de un autor: siempre por id. */
+    private static final Map<String, Function<String, Object>> CAMPOS_CURSOR_AUTOR = Map.of(
+            "id", Long::valueOf);
+
     private final LibroRepository libroRepository;
     private final AutorRepository autorRepository;
     private final LibroMapper mapper;
+    private final CursorMapper cursorMapper;
+    private final ConteoTotales conteoTotales;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ExportadorLibros exportador;
+    private final CacheRespuestas cache;
+    private final ApplicationEventPublisher eventos;
+    private final Desactivaciones desactivaciones;
 
     /**
      * Registra un nuevo libro.
      * REGLAS:
      * - El autor debe existir.
-     * - El ISBN no puede estar duplicado (si se proporciona).
+     * - El ISBN no puede estar duplicado (si se proporciona): lo aplica la
+     *   restricción única libros_isbn_key al hacer flush, sin consulta previa;
+     *   GlobalExceptionHandler traduce la violación a 409.
      */
     @Override
     public LibroResponseDto crear(LibroRequestDto dto) {
@@ -42,42 +102,259 @@ public class LibroServiceImpl implements LibroService {
         AutorEntity autor = autorRepository.findById(dto.autorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Autor", dto.autorId()));
 
-        // Validar ISBN único (si se proporciona)
-        if (dto.isbn() != null && libroRepository.existsByIsbn(dto.isbn())) {
-            throw new DuplicateResourceException("Libro (ISBN)", dto.isbn());
+        LibroEntity saved = libroRepository.saveAndFlush(mapper.toEntity(dto, autor));
+        eventos.publishEvent(LibroCambioEvent.creado(saved));
+        return mapper.toResponse(saved);
+    }
+
+    /**
+     * Registra varios libros en una sola petición, con resultado por ítem.
+     * Aplica las mismas reglas que crear(), pero resuelve autores e ISBN
+     * con una consulta IN cada uno e inserta en batches JDBC (ids por
+     * secuencia con asignación pooled). Un ítem inválido no frena al resto.
+     */
+    @Override
+    public LoteResultadoDto<LibroResponseDto> crearLote(List<LibroRequestDto> dtos) {
+        Lotes.validarTamanio(dtos.size());
+
+        @SuppressWarnings("unchecked")
+        LoteItemDto<LibroResponseDto>[] resultados = new LoteItemDto[dtos.size()];
+
+        // Validaciones Jakarta por ítem (las mismas de @Valid)
+        for (int i = 0; i < dtos.size(); i++) {
+            Set<ConstraintViolation<LibroRequestDto>> violaciones = validator.validate(dtos.get(i));
+            if (!violaciones.isEmpty()) {
+                resultados[i] = LoteItemDto.rechazado(i, Lotes.mensaje(violaciones));
+            }
         }
 
-        LibroEntity entity = mapper.toEntity(dto, autor);
-        LibroEntity saved = libroRepository.save(entity);
-        return mapper.toResponse(saved);
+        // Autores referenciados e ISBN ya registrados: una consulta IN cada uno
+        Map<Long, AutorEntity> autores = autorRepository.findAllById(
+                        valores(dtos, resultados, LibroRequestDto::autorId))
+                .stream()
+                .collect(Collectors.toMap(AutorEntity::getId, Function.identity()));
+
+        Set<String> isbns = valores(dtos, resultados, LibroRequestDto::isbn);
+        Set<String> isbnsOcupados = isbns.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(libroRepository.findIsbnsExistentes(isbns));
+
+        List<LibroEntity> bloque = new ArrayList<>(Lotes.TAMANIO_BLOQUE);
+        List<Integer> indicesBloque = new ArrayList<>(Lotes.TAMANIO_BLOQUE);
+
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] != null) {
+                continue;
+            }
+            LibroRequestDto dto = dtos.get(i);
+
+            AutorEntity autor = autores.get(dto.autorId());
+            if (autor == null) {
+                resultados[i] = LoteItemDto.rechazado(i,
+                        new ResourceNotFoundException("Autor", dto.autorId()).getMessage());
+                continue;
+            }
+            // add() también detecta ISBN repetidos dentro del mismo lote
+            if (dto.isbn() != null && !isbnsOcupados.add(dto.isbn())) {
+                resultados[i] = LoteItemDto.rechazado(i,
+                        new DuplicateResourceException("Libro (ISBN)", dto.isbn()).getMessage());
+                continue;
+            }
+
+            bloque.add(mapper.toEntity(dto, autor));
+            indicesBloque.add(i);
+            if (bloque.size() == Lotes.TAMANIO_BLOQUE) {
+                guardarBloque(bloque, indicesBloque, resultados);
+            }
+        }
+        guardarBloque(bloque, indicesBloque, resultados);
+
+        return LoteResultadoDto.de(Arrays.asList(resultados));
+    }
+
+    /**
+     * Inserta un bloque (flush → INSERTs en batch), registra los resultados
+     * y limpia el contexto de persistencia para no acumular entidades.
+     */
+    private void guardarBloque(List<LibroEntity> bloque, List<Integer> indices,
+            LoteItemDto<LibroResponseDto>[] resultados) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+        libroRepository.saveAll(bloque);
+        libroRepository.flush();
+
+        for (int j = 0; j < bloque.size(); j++) {
+            int indice = indices.get(j);
+            resultados[indice] = LoteItemDto.creado(indice, mapper.toResponse(bloque.get(j)));
+            eventos.publishEvent(LibroCambioEvent.creado(bloque.get(j)));
+        }
+        entityManager.clear();
+        bloque.clear();
+        indices.clear();
+    }
+
+    /**
+     * Valores distintos (no nulos) de los ítems que aún no fueron rechazados.
+     */
+    private static <T> Set<T> valores(List<LibroRequestDto> dtos, LoteItemDto<?>[] resultados,
+            Function<LibroRequestDto, T> campo) {
+        Set<T> valores = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] == null) {
+                valores.add(campo.apply(dtos.get(i)));
+            }
+        }
+        valores.remove(null);
+        return valores;
     }
 
     /**
      * Busca un libro por ID.
      * Lanza 404 si no existe.
+     * Read-through sobre la caché de respuestas: solo consulta la BD si falla.
      */
     @Override
     @Transactional(readOnly = true)
     public LibroResponseDto buscarPorId(Long id) {
-        LibroEntity entity = libroRepository.findById(id)
+        return buscarVersionado(id).libro();
+    }
+
+    /**
+     * Busca un libro por ID junto con su versión para GET condicional.
+     * Lanza 404 si no existe.
+     * La versión viaja en la misma entrada de caché que el DTO.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LibroVersionadoDto buscarVersionado(Long id) {
+        return cache.libro(id, libroRepository::findVersionadoById)
+                .orElseThrow(() -> new ResourceNotFoundException("Libro", id));
+    }
+
+    /**
+     * Busca varios libros por ID en el orden pedido.
+     * Los que no están en caché se resuelven con una sola consulta IN,
+     * con el autor por JOIN en el mismo SELECT.
+     * Los ids inexistentes se informan en faltantes, sin 404.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PorIdsDto<LibroResponseDto> buscarPorIds(List<Long> ids) {
+        List<Long> distintos = PorIdsDto.distintos(ids);
+        Map<Long, LibroResponseDto> porId = cache.libros(distintos, libroRepository::findVersionadosByIds)
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entrada -> entrada.getValue().libro()));
+        return PorIdsDto.de(distintos, porId);
+    }
+
+    /**
+     * Versión (updatedAt) para GET condicional, sin cargar el libro.
+     * Solo con la caché de respuestas desactivada; si no, buscarVersionado().
+     * Lanza 404 si no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime version(Long id) {
+        return libroRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Libro", id));
-        return mapper.toResponse(entity);
     }
 
     /**
      * Lista libros activos con paginación.
      * Solo devuelve registros con activo = true.
+     * Proyección directa a DTO: sin hidratar entidades ni pasar por el mapper.
+     * Con filtros, una sola consulta con solo los predicados recibidos
+     * (LibroFiltros); el COUNT lleva los mismos predicados.
+     * Con ?fields=, el SELECT solo lee las columnas pedidas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LibroResponseDto> listar(Pageable pageable, LibroFiltroDto filtro, Set<CampoLibro> campos) {
+        if (filtro.vacio() && CampoLibro.todos(campos)) {
+            return libroRepository.findResponsesActivos(pageable);
+        }
+        return libroRepository.findResponses(LibroFiltros.activos(filtro), campos, pageable);
+    }
+
+    /**
+     * Lista libros activos sin COUNT por petición (Slice + hasNext).
+     * Si el cliente pide total, se sirve cacheado o estimado según el modo.
+     * Con filtros no hay total cacheado ni estimación por combinación: si se
+     * pide total, es un COUNT exacto con los mismos predicados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDto<LibroResponseDto> listar(Pageable pageable, ModoConteo modo, LibroFiltroDto filtro,
+            Set<CampoLibro> campos) {
+        Specification<LibroEntity> spec = LibroFiltros.activos(filtro);
+        if (!filtro.vacio()) {
+            Slice<LibroResponseDto> slice = libroRepository.findSliceResponses(spec, campos, pageable);
+            return modo == ModoConteo.NINGUNO
+                    ? PaginaDto.de(slice, null, null)
+                    : PaginaDto.de(slice, libroRepository.contar(spec), TipoTotal.EXACTO);
+        }
+        return conteoTotales.paginar(
+                CampoLibro.todos(campos)
+                        ? libroRepository.findSliceActivos(pageable)
+                        : libroRepository.findSliceResponses(spec, campos, pageable),
+                modo,
+                "libros",
+                libroRepository::countByActivoTrue,
+                libroRepository::estimarActivos);
+    }
+
+    /**
+     * Lista libros activos por cursor (keyset).
+     * Busca sobre la tupla (campo, id) en lugar de usar OFFSET,
+     * así la latencia no depende de la profundidad.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<LibroResponseDto> listarPorCursor(String cursor, int size, Sort sort) {
+        CursorMapper.Cursor posicion = cursorMapper.decode(cursor, sort, CAMPOS_CURSOR);
+        return cursorMapper.toPage(
+                libroRepository.findWindowByActivoTrue(posicion.posicion(), posicion.sort(),
+                        Limit.of(CursorMapper.acotar(size))),
+                posicion.sort(),
+                mapper::toResponse);
+    }
+
+    /**
+     * Búsqueda de texto completo sobre título, género y nombre del autor,
+     * ordenada por relevancia.
+     * Dos consultas: los ids de la página por el índice GIN y luego sus
+     * datos por PK (proyección a DTO), reordenados según la relevancia.
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<LibroResponseDto> listar(Pageable pageable) {
-        return libroRepository.findByActivoTrue(pageable)
-                .map(mapper::toResponse);
+    public PaginaDto<LibroResponseDto> buscar(String consulta, Pageable pageable) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new BadRequestException("El parámetro q es obligatorio");
+        }
+
+        // El orden lo define la relevancia: se ignora cualquier sort recibido
+        Slice<Long> ids = libroRepository.buscarIdsPorTexto(consulta.strip(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+
+        Map<Long, LibroResponseDto> porId = ids.isEmpty()
+                ? Map.of()
+                : libroRepository.findResponsesByIds(ids.getContent()).stream()
+                        .collect(Collectors.toMap(LibroResponseDto::id, Function.identity()));
+
+        List<LibroResponseDto> contenido = ids.getContent().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return PaginaDto.de(new SliceImpl<>(contenido, ids.getPageable(), ids.hasNext()), null, null);
     }
 
     /**
      * Actualiza un libro existente.
      * Valida que el nuevo autor (si cambia) exista.
+     * La entidad está gestionada: el flush ejecuta el UPDATE (dirty checking)
+     * para que un ISBN duplicado falle aquí y la respuesta lleve el
+     * updatedAt de la auditoría.
      */
     @Override
     public LibroResponseDto actualizar(Long id, LibroRequestDto dto) {
@@ -87,39 +364,74 @@ public class LibroServiceImpl implements LibroService {
         AutorEntity autor = autorRepository.findById(dto.autorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Autor", dto.autorId()));
 
+        LibroCambioEvent.Snapshot anterior = LibroCambioEvent.Snapshot.de(entity);
         mapper.updateEntity(entity, dto, autor);
-        LibroEntity updated = libroRepository.save(entity);
-        return mapper.toResponse(updated);
+        libroRepository.flush();
+        eventos.publishEvent(new LibroCambioEvent(id, anterior, LibroCambioEvent.Snapshot.de(entity)));
+        return mapper.toResponse(entity);
     }
 
     /**
      * Soft Delete: marca el libro como inactivo.
      * NO elimina físicamente el registro.
+     * Un UPDATE por conjunto, sin cargar la entidad; 404 si no existe.
      */
     @Override
     public void eliminar(Long id) {
-        LibroEntity entity = libroRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Libro", id));
+        if (desactivaciones.libros(List.of(id)).isEmpty()) {
+            throw new ResourceNotFoundException("Libro", id);
+        }
+    }
 
-        entity.desactivar();
-        libroRepository.save(entity);
+    /**
+     * Soft Delete en lote: un UPDATE para todo el conjunto.
+     * content = ids existentes (desactivados ahora o ya inactivos);
+     * faltantes = ids que no existen.
+     */
+    @Override
+    public PorIdsDto<Long> eliminarLote(List<Long> ids) {
+        List<Long> distintos = Lotes.idsDistintos(ids);
+        Set<Long> existentes = desactivaciones.libros(distintos);
+        return PorIdsDto.de(distintos, existentes.stream()
+                .collect(Collectors.toMap(Function.identity(), Function.identity())));
     }
 
     /**
-     * Lista los libros activos de un autor específico.
-     * Lanza 404 si el autor no existe.
+     * Lista los libros activos de un autor, por id y de a una página
+     * acotada (cursor keyset sobre el id).
+     * Una sola consulta: si no devuelve filas, el autor no existe (404).
      */
     @Override
     @Transactional(readOnly = true)
-    public List<LibroResponseDto> listarPorAutor(Long autorId) {
-        // Verificar que el autor existe
-        if (!autorRepository.existsById(autorId)) {
+    public CursorPageDto<LibroResponseDto> listarPorAutor(Long autorId, String cursor, int size) {
+        CursorMapper.Cursor posicion = cursorMapper.decode(cursor, Sort.unsorted(), CAMPOS_CURSOR_AUTOR);
+        Object ultimoId = posicion.posicion().getKeys().get("id");
+        int tamanio = CursorMapper.acotar(size);
+
+        List<LibroResponseDto> filas = libroRepository.findResponsesActivosByAutorId(
+                autorId, ultimoId != null ? (Long) ultimoId : 0L, Limit.of(tamanio + 1));
+        if (filas.isEmpty()) {
             throw new ResourceNotFoundException("Autor", autorId);
         }
 
-        return libroRepository.findByAutorIdAndActivoTrue(autorId)
-                .stream()
-                .map(mapper::toResponse)
-                .toList();
+        // Fila del LEFT JOIN sin libro: el autor existe pero no hay más libros
+        List<LibroResponseDto> libros = filas.get(0).id() == null ? List.of() : filas;
+        return cursorMapper.toPage(libros, tamanio, posicion.sort(), libro -> Map.of("id", libro.id()));
+    }
+
+    /**
+     * Exporta todos los libros activos (con el nombre del autor) en NDJSON o CSV.
+     * Las filas viajan del cursor de la BD a la salida una por una,
+     * con memoria constante sin importar el tamaño del catálogo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(FormatoArchivo formato, OutputStream salida) throws IOException {
+        try (Stream<LibroResponseDto> libros = libroRepository.streamActivos()) {
+            switch (formato) {
+                case NDJSON -> exportador.ndjson(libros, salida);
+                case CSV -> exportador.csv(libros, salida);
+            }
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reglas compartidas por las operaciones en lote (creaciones y bajas).
+ */
+final class Lotes {
+
+    /** Máximo de ítems aceptados por petición. */
+    static final int TAMANIO_MAXIMO = 10_000;
+
+    /**
+     * Entidades por flush + clear. Hibernate las envía en batches JDBC de
+     * hibernate.jdbc.batch_size; el clear mantiene acotado el contexto.
+     */
+    static final int TAMANIO_BLOQUE = 500;
+
+    private Lotes() {
+    }
+
+    static void validarTamanio(int tamanio) {
+        if (tamanio == 0 || tamanio > TAMANIO_MAXIMO) {
+            throw new BadRequestException(
+                    "El lote debe tener entre 1 y " + TAMANIO_MAXIMO + " elementos");
+        }
+    }
+
+    /**
+     * Ids sin repetir ni nulos, en el orden de llegada, dentro del tamaño admitido.
+     */
+    static List<Long> idsDistintos(List<Long> ids) {
+        List<Long> distintos = ids == null
+                ? List.of()
+                : List.copyOf(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+        validarTamanio(distintos.size());
+        return distintos;
+    }
+
+    /**
+     * Mismo formato que los errores de @Valid en GlobalExceptionHandler.
+     */
+    static <T> String mensaje(Set<ConstraintViolation<T>> violaciones) {
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+}
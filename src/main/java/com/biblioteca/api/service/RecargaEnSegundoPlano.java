@@ -0,0 +1,64 @@
+package com.biblioteca.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recarga completa pedida desde un listener AFTER_COMMIT (importaciones
+ * masivas) que se ejecuta en un hilo propio: el hilo que confirmó la
+ * transacción no espera a que se relean las tablas.
+ *
+ * Las peticiones que llegan mientras hay una recarga en cola se agrupan:
+ * N importaciones seguidas producen como mucho una recarga en curso y otra
+ * pendiente, no N.
+ */
+@Slf4j
+final class RecargaEnSegundoPlano implements AutoCloseable {
+
+    private final String nombre;
+    private final Runnable recarga;
+    private final ExecutorService hilo;
+    private final AtomicBoolean pendiente = new AtomicBoolean();
+
+    RecargaEnSegundoPlano(String nombre, Runnable recarga) {
+        this(nombre, recarga, Executors.newSingleThreadExecutor(Thread.ofPlatform().name(nombre).daemon().factory()));
+    }
+
+    RecargaEnSegundoPlano(String nombre, Runnable recarga, ExecutorService hilo) {
+        this.nombre = nombre;
+        this.recarga = recarga;
+        this.hilo = hilo;
+    }
+
+    /** Encola una recarga salvo que ya haya una esperando a empezar. */
+    void solicitar() {
+        if (!pendiente.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            hilo.execute(this::ejecutar);
+        } catch (RejectedExecutionException ex) {
+            // Apagado en curso: la recarga ya no sirve de nada
+            log.debug("Recarga {} descartada: ejecutor detenido", nombre);
+        }
+    }
+
+    private void ejecutar() {
+        // Se limpia antes de leer: lo confirmado durante la carga pide otra
+        pendiente.set(false);
+        try {
+            recarga.run();
+        } catch (RuntimeException ex) {
+            log.error("Recarga {} fallida; se reintenta en la próxima reconciliación", nombre, ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        hilo.shutdownNow();
+    }
+}
@@ -0,0 +1,86 @@
+package com.biblioteca.api.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades CSV (RFC 4180) sin dependencias externas.
+ */
+public final class Csv {
+
+    public static final char SEPARADOR = ',';
+
+    private Csv() {
+    }
+
+    /**
+     * Escapa un valor: lo envuelve en comillas si contiene separador,
+     * comillas o saltos de línea, duplicando las comillas internas.
+     * null se escribe como campo vacío.
+     */
+    public static String escapar(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        boolean requiereComillas = texto.indexOf(SEPARADOR) >= 0
+                || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0
+                || texto.indexOf('\r') >= 0;
+        return requiereComillas
+                ? '"' + texto.replace("\"", "\"\"") + '"'
+                : texto;
+    }
+
+    /**
+     * Lee el siguiente registro del flujo. Un registro puede abarcar varias
+     * líneas si un campo entre comillas contiene saltos de línea.
+     *
+     * @return los campos del registro, o null al llegar al final del flujo
+     */
+    public static List<String> leerRegistro(BufferedReader lector) throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean leyoAlgo = false;
+
+        int c;
+        while ((c = lector.read()) != -1) {
+            leyoAlgo = true;
+            char ch = (char) c;
+
+            if (entreComillas) {
+                if (ch != '"') {
+                    campo.append(ch);
+                    continue;
+                }
+                // "" dentro de comillas es una comilla literal
+                lector.mark(1);
+                if (lector.read() == '"') {
+                    campo.append('"');
+                } else {
+                    entreComillas = false;
+                    lector.reset();
+                }
+            } else if (ch == '"') {
+                entreComillas = true;
+            } else if (ch == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\n') {
+                campos.add(campo.toString());
+                return campos;
+            } else if (ch != '\r') {
+                campo.append(ch);
+            }
+        }
+
+        if (!leyoAlgo) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,26 @@
+package com.biblioteca.api.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para comparaciones insensibles a mayúsculas,
+ * acentos y espacios repetidos ("Cien  Años" → "cien anos").
+ */
+public final class Texto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private Texto() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+}
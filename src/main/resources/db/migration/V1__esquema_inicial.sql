@@ -0,0 +1,115 @@
+-- =====================================================
+-- V1: esquema inicial de bd-biblioteca
+-- =====================================================
+-- Mismo esquema que creaba database_setup.sql antes de Flyway. Las bases
+-- existentes se registran con baseline en esta versión y no lo re-ejecutan.
+
+-- Tabla AUTORES
+CREATE TABLE autores (
+    id               BIGSERIAL       PRIMARY KEY,
+    nombre           VARCHAR(100)    NOT NULL,
+    apellido         VARCHAR(100)    NOT NULL,
+    nacionalidad     VARCHAR(80),
+    fecha_nacimiento DATE,
+    activo           BOOLEAN         NOT NULL DEFAULT TRUE,
+
+    -- Auditoría
+    created_at       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Índices autores
+CREATE INDEX idx_autores_nombre ON autores (apellido, nombre);
+CREATE INDEX idx_autores_activo ON autores (activo);
+
+-- Índices keyset (paginación por cursor): (campo de orden, id)
+CREATE INDEX idx_autores_apellido_id ON autores (apellido, id);
+CREATE INDEX idx_autores_nombre_id   ON autores (nombre, id);
+CREATE INDEX idx_autores_created_id  ON autores (created_at, id);
+
+-- Tabla LIBROS
+CREATE TABLE libros (
+    id               BIGSERIAL       PRIMARY KEY,
+    titulo           VARCHAR(255)    NOT NULL,
+    isbn             VARCHAR(13)     UNIQUE,
+    genero           VARCHAR(80),
+    anio_publicacion INTEGER,
+    num_paginas      INTEGER         CHECK (num_paginas > 0),
+    activo           BOOLEAN         NOT NULL DEFAULT TRUE,
+
+    -- FK → autores
+    autor_id         BIGINT          NOT NULL,
+    CONSTRAINT fk_libro_autor FOREIGN KEY (autor_id)
+        REFERENCES autores(id),
+
+    -- Auditoría
+    created_at       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Índices libros
+CREATE INDEX idx_libros_titulo ON libros (titulo);
+CREATE INDEX idx_libros_isbn   ON libros (isbn);
+CREATE INDEX idx_libros_autor  ON libros (autor_id);
+CREATE INDEX idx_libros_activo ON libros (activo);
+
+-- Índices keyset (paginación por cursor): (campo de orden, id)
+CREATE INDEX idx_libros_titulo_id  ON libros (titulo, id);
+CREATE INDEX idx_libros_created_id ON libros (created_at, id);
+
+-- =====================================================
+-- BÚSQUEDA DE TEXTO COMPLETO (GET /api/v1/libros/search)
+-- =====================================================
+-- Configuración española con plegado de acentos: "años" y "anos",
+-- "cólera" y "colera" generan el mismo lexema, y "soledad"/"soledades"
+-- comparten raíz.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TEXT SEARCH CONFIGURATION es_unaccent (COPY = spanish);
+ALTER TEXT SEARCH CONFIGURATION es_unaccent
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, spanish_stem;
+
+-- Vector precalculado: título (peso A), autor (B) y género (C).
+-- El nombre del autor vive en otra tabla, por eso no puede ser una
+-- columna generada: lo mantienen dos triggers.
+ALTER TABLE libros ADD COLUMN IF NOT EXISTS busqueda TSVECTOR;
+
+CREATE OR REPLACE FUNCTION libros_busqueda_actualizar() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT setweight(to_tsvector('es_unaccent', NEW.titulo), 'A')
+        || setweight(to_tsvector('es_unaccent', a.nombre || ' ' || a.apellido), 'B')
+        || setweight(to_tsvector('es_unaccent', COALESCE(NEW.genero, '')), 'C')
+    INTO NEW.busqueda
+    FROM autores a
+    WHERE a.id = NEW.autor_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_libros_busqueda
+    BEFORE INSERT OR UPDATE OF titulo, genero, autor_id ON libros
+    FOR EACH ROW EXECUTE FUNCTION libros_busqueda_actualizar();
+
+-- Renombrar un autor recalcula el vector de sus libros
+CREATE OR REPLACE FUNCTION autores_busqueda_propagar() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE libros SET titulo = titulo WHERE autor_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_autores_busqueda
+    AFTER UPDATE OF nombre, apellido ON autores
+    FOR EACH ROW
+    WHEN (OLD.nombre IS DISTINCT FROM NEW.nombre OR OLD.apellido IS DISTINCT FROM NEW.apellido)
+    EXECUTE FUNCTION autores_busqueda_propagar();
+
+CREATE INDEX idx_libros_busqueda ON libros USING GIN (busqueda);
+
+-- =====================================================
+-- SECUENCIAS: asignación pooled de ids
+-- =====================================================
+-- Hibernate reserva 50 ids por nextval (allocationSize = 50) para poder
+-- agrupar INSERTs en batches JDBC. El incremento debe coincidir.
+ALTER SEQUENCE autores_id_seq INCREMENT BY 50;
+ALTER SEQUENCE libros_id_seq  INCREMENT BY 50;
@@ -0,0 +1,56 @@
+-- =====================================================
+-- V2: índices parciales (WHERE activo) para las consultas calientes
+-- =====================================================
+-- Todas las lecturas de la API filtran activo = true. Un índice sobre
+-- activo solo (dos valores) casi nunca lo elige el planificador; un índice
+-- parcial con el mismo predicado indexa solo las filas vivas y puede servir
+-- el orden de la consulta sin ordenar.
+--
+-- Sin transacción (V2__indices_parciales.sql.conf): CREATE / DROP INDEX
+-- CONCURRENTLY no bloquean las escrituras mientras se construye cada
+-- índice. Si la migración falla a mitad, un índice a medio construir queda
+-- INVALID: borrarlo, ejecutar flyway repair y volver a migrar.
+
+-- Índices de baja selectividad y duplicados
+DROP INDEX CONCURRENTLY IF EXISTS idx_autores_activo;
+DROP INDEX CONCURRENTLY IF EXISTS idx_libros_activo;
+-- Duplica el índice de la restricción UNIQUE (isbn)
+DROP INDEX CONCURRENTLY IF EXISTS idx_libros_isbn;
+-- Prefijo de idx_libros_titulo_id
+DROP INDEX CONCURRENTLY IF EXISTS idx_libros_titulo;
+
+-- ── Libros ──
+
+-- findByActivoTrue / findResponsesActivos ordenados por id y countByActivoTrue
+-- (index-only scan sobre las filas activas)
+CREATE INDEX CONCURRENTLY idx_libros_activos ON libros (id) WHERE activo;
+
+-- findByAutorIdAndActivoTrue y /autores/{id}/libros (autor_id = ? ORDER BY id).
+-- num_paginas incluido: el agregado de páginas por autor sale del índice.
+CREATE INDEX CONCURRENTLY idx_libros_activos_autor ON libros (autor_id, id) INCLUDE (num_paginas) WHERE activo;
+
+-- Keyset (/scroll): mismo orden (campo, id) y mismo filtro
+DROP INDEX CONCURRENTLY IF EXISTS idx_libros_titulo_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_libros_created_id;
+CREATE INDEX CONCURRENTLY idx_libros_activos_titulo_id  ON libros (titulo, id) WHERE activo;
+CREATE INDEX CONCURRENTLY idx_libros_activos_created_id ON libros (created_at, id) WHERE activo;
+
+-- ── Autores ──
+
+-- findByActivoTrue ordenado por id
+CREATE INDEX CONCURRENTLY idx_autores_activos ON autores (id) WHERE activo;
+
+-- La verificación de duplicados (apellido IN (...) en el lote) cuenta
+-- también a los autores dados de baja: sigue en idx_autores_nombre
+-- (apellido, nombre) de V1, completo y no parcial.
+
+-- Keyset (/scroll)
+DROP INDEX CONCURRENTLY IF EXISTS idx_autores_apellido_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_autores_nombre_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_autores_created_id;
+CREATE INDEX CONCURRENTLY idx_autores_activos_apellido_id ON autores (apellido, id) WHERE activo;
+CREATE INDEX CONCURRENTLY idx_autores_activos_nombre_id   ON autores (nombre, id) WHERE activo;
+CREATE INDEX CONCURRENTLY idx_autores_activos_created_id  ON autores (created_at, id) WHERE activo;
+
+ANALYZE libros;
+ANALYZE autores;
@@ -0,0 +1,27 @@
+-- =====================================================
+-- V3: nombre + apellido único entre autores
+-- =====================================================
+-- La regla de duplicados de AutorServiceImpl.crear pasa a la BD: el INSERT
+-- (o el UPDATE de actualizar) falla con unique_violation, sin consulta
+-- previa y también entre peticiones concurrentes. Completa, como la
+-- verificación original (existsByNombreAndApellido): un autor dado de baja
+-- sigue reservando el nombre.
+--
+-- Columnas en el orden de idx_autores_nombre (apellido, nombre), al que
+-- reemplaza: sigue sirviendo al filtro apellido IN (...) del lote.
+-- Si ya hay autores duplicados, la creación del índice falla y los
+-- informa: resolverlos (renombrar) y volver a migrar.
+--
+-- Sin transacción, con CONCURRENTLY, como V2: el índice único se construye
+-- sin bloquear escrituras y luego respalda la restricción (ADD CONSTRAINT
+-- ... USING INDEX solo toma el bloqueo un instante).
+--
+-- El ISBN ya era único (restricción libros_isbn_key de V1).
+
+-- Resto INVALID de un intento fallido
+DROP INDEX CONCURRENTLY IF EXISTS uq_autores_nombre;
+CREATE UNIQUE INDEX CONCURRENTLY uq_autores_nombre ON autores (apellido, nombre);
+ALTER TABLE autores ADD CONSTRAINT uq_autores_nombre UNIQUE USING INDEX uq_autores_nombre;
+
+-- Mismas columnas que la restricción
+DROP INDEX CONCURRENTLY IF EXISTS idx_autores_nombre;
@@ -0,0 +1,22 @@
+-- =====================================================
+-- V4: índices para los filtros del listado de libros
+-- =====================================================
+-- GET /api/v1/libros?genero=&anioDesde=&anioHasta=&paginasMin=&paginasMax=&autorId=
+-- Cada filtro tiene un índice parcial (WHERE activo, como la consulta).
+-- Un filtro solo usa su índice; en las combinaciones el planificador
+-- elige el más selectivo o los cruza con BitmapAnd, sin leer la tabla
+-- entera. autorId ya lo cubre idx_libros_activos_autor (V2).
+--
+-- Sin transacción, con CONCURRENTLY, como V2.
+
+-- genero = ? y genero = ? AND anio_publicacion BETWEEN ...: la combinación
+-- más frecuente se resuelve con un solo recorrido de rango
+CREATE INDEX CONCURRENTLY idx_libros_activos_genero_anio ON libros (genero, anio_publicacion) WHERE activo;
+
+-- Rango de años sin género
+CREATE INDEX CONCURRENTLY idx_libros_activos_anio ON libros (anio_publicacion) WHERE activo;
+
+-- Rango de páginas
+CREATE INDEX CONCURRENTLY idx_libros_activos_paginas ON libros (num_paginas) WHERE activo;
+
+ANALYZE libros;
@@ -0,0 +1,212 @@
+package com.biblioteca.api;
+
+import com.biblioteca.api.entity.AutorEntity;
+import com.biblioteca.api.entity.LibroEntity;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroRepository;
+import com.biblioteca.api.service.AutorService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Caché de segundo nivel de AutorEntity y caché de consultas de autores
+ * activos: tras calentarlas, cargar el autor de un libro no ejecuta SQL;
+ * las actualizaciones y las bajas lógicas (UPDATE JPQL por conjunto) se
+ * ven en la siguiente lectura, también si otra transacción leyó el autor
+ * mientras la baja no estaba confirmada.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CacheSegundoNivelTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private AutorService autorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private TransactionTemplate transaccion;
+    private AutorEntity autor;
+    private LibroEntity libro;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaccion = new TransactionTemplate(transactionManager);
+
+        autor = autorRepository.save(AutorEntity.builder()
+                .nombre("Cacheado")
+                .apellido("Segundo Nivel " + UUID.randomUUID().toString().substring(0, 8))
+                .build());
+        libro = libroRepository.save(LibroEntity.builder()
+                .titulo("Libro cacheado")
+                .numPaginas(100)
+                .autor(autor)
+                .build());
+    }
+
+    @AfterEach
+    void limpiar() {
+        libroRepository.deleteById(libro.getId());
+        autorRepository.deleteById(autor.getId());
+    }
+
+    @Test
+    void autorDeUnLibroSeCargaDesdeLaCacheTrasCalentar() {
+        nombreDelAutorDelLibro();
+
+        statistics.clear();
+        String nombre = nombreDelAutorDelLibro();
+
+        assertThat(nombre).isEqualTo("Cacheado");
+        // Solo el SELECT del libro: el autor sale de la región "autores"
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void findByIdDelAutorNoEjecutaSqlTrasCalentar() {
+        transaccion.executeWithoutResult(estado -> autorRepository.findById(autor.getId()));
+
+        statistics.clear();
+        transaccion.executeWithoutResult(estado -> autorRepository.findById(autor.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void actualizarSeVeEnLaSiguienteLectura() throws Exception {
+        nombreDelAutorDelLibro();
+
+        mockMvc.perform(put("/api/v1/autores/{id}", autor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Renombrado\", \"apellido\": \"" + autor.getApellido() + "\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(nombreDelAutorDelLibro()).isEqualTo("Renombrado");
+    }
+
+    @Test
+    void bajaLogicaDesalojaElAutorCacheado() throws Exception {
+        transaccion.executeWithoutResult(estado -> autorRepository.findById(autor.getId()));
+
+        mockMvc.perform(delete("/api/v1/autores/{id}", autor.getId()))
+                .andExpect(status().isNoContent());
+
+        Boolean activo = transaccion.execute(estado ->
+                autorRepository.findById(autor.getId()).orElseThrow().getActivo());
+        assertThat(activo).isFalse();
+    }
+
+    @Test
+    void consultaDeActivosSeSirveDeCacheYRespetaLaBaja() throws Exception {
+        transaccion.executeWithoutResult(estado -> autorRepository.findByActivoTrue());
+
+        statistics.clear();
+        transaccion.executeWithoutResult(estado -> autorRepository.findByActivoTrue());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(delete("/api/v1/autores/{id}", autor.getId()))
+                .andExpect(status().isNoContent());
+
+        List<AutorEntity> activos = transaccion.execute(estado -> autorRepository.findByActivoTrue());
+        assertThat(activos)
+                .extracting(AutorEntity::getId)
+                .doesNotContain(autor.getId());
+    }
+
+    @Test
+    void lecturaDuranteLaBajaNoResucitaAlAutorEnUnPut() throws Exception {
+        CountDownLatch desactivado = new CountDownLatch(1);
+        CountDownLatch leido = new CountDownLatch(1);
+        ExecutorService lector = Executors.newSingleThreadExecutor();
+        try {
+            // Con la baja sin confirmar, otra transacción no encuentra el autor
+            // en la región, lee la fila anterior (activo = true) y la guarda
+            Future<Boolean> lectura = lector.submit(() -> {
+                esperar(desactivado);
+                Boolean activo = transaccion.execute(estado ->
+                        autorRepository.findById(autor.getId()).orElseThrow().getActivo());
+                leido.countDown();
+                return activo;
+            });
+            transaccion.executeWithoutResult(estado -> {
+                autorService.eliminar(autor.getId());
+                desactivado.countDown();
+                esperar(leido);
+            });
+            assertThat(lectura.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            lector.shutdownNow();
+        }
+
+        // El PUT carga el autor (caché o BD) y lo reescribe: debe seguir inactivo
+        mockMvc.perform(put("/api/v1/autores/{id}", autor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Renombrado\", \"apellido\": \"" + autor.getApellido() + "\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT activo FROM autores WHERE id = ?",
+                Boolean.class, autor.getId())).isFalse();
+        Boolean activo = transaccion.execute(estado ->
+                autorRepository.findById(autor.getId()).orElseThrow().getActivo());
+        assertThat(activo).isFalse();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** Carga el libro y, por la asociación LAZY, su autor. */
+    private String nombreDelAutorDelLibro() {
+        return transaccion.execute(estado ->
+                libroRepository.findById(libro.getId()).orElseThrow().getAutor().getNombre());
+    }
+}
@@ -0,0 +1,166 @@
+package com.biblioteca.api;
+
+import com.biblioteca.api.entity.AutorEntity;
+import com.biblioteca.api.entity.LibroEntity;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ?fields= en los listados: el JSON solo trae los campos pedidos y el
+ * SELECT solo lee sus columnas (sin JOIN con autores si no se pide el
+ * nombre del autor).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(CamposParcialesTests.CapturaSql.class)
+class CamposParcialesTests {
+
+    private static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CapturaSql {
+
+        @Bean
+        HibernatePropertiesCustomizer capturarSql() {
+            StatementInspector captura = sql -> {
+                SQL.add(sql);
+                return sql;
+            };
+            return propiedades -> propiedades.merge(AvailableSettings.STATEMENT_INSPECTOR, captura,
+                    (previo, nuevo) -> previo instanceof StatementInspector otro
+                            ? (StatementInspector) sql -> captura.inspect(otro.inspect(sql))
+                            : nuevo);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    private AutorEntity autor;
+    private LibroEntity libro;
+
+    @BeforeEach
+    void setUp() {
+        autor = autorRepository.save(AutorEntity.builder()
+                .nombre("Campos")
+                .apellido("Parciales " + UUID.randomUUID().toString().substring(0, 8))
+                .nacionalidad("Chilena")
+                .build());
+        libro = libroRepository.save(LibroEntity.builder()
+                .titulo("Libro parcial")
+                .genero("Novela")
+                .numPaginas(100)
+                .autor(autor)
+                .build());
+    }
+
+    @AfterEach
+    void limpiar() {
+        libroRepository.deleteById(libro.getId());
+        autorRepository.deleteById(autor.getId());
+    }
+
+    @Test
+    void librosConNombreDelAutorSoloLeenEsasColumnas() throws Exception {
+        JsonNode primero = primero(get("/api/v1/libros")
+                .param("fields", "id,titulo,autor_nombre_completo")
+                .param("sort", "id,desc"));
+
+        assertThat(campos(primero)).containsExactlyInAnyOrder("id", "titulo", "autor_nombre_completo");
+        assertThat(primero.get("autor_nombre_completo").asText()).isEqualTo("Campos " + autor.getApellido());
+        assertThat(SQL).first().asString()
+                .contains("join autores")
+                .doesNotContain("created_at", "updated_at", "isbn", "num_paginas");
+    }
+
+    @Test
+    void librosSinCamposDelAutorNoHacenJoin() throws Exception {
+        JsonNode primero = primero(get("/api/v1/libros")
+                .param("fields", "id,titulo,autor_id")
+                .param("conteo", "ninguno")
+                .param("sort", "id,desc"));
+
+        assertThat(campos(primero)).containsExactlyInAnyOrder("id", "titulo", "autor_id");
+        assertThat(primero.get("autor_id").asLong()).isEqualTo(autor.getId());
+        assertThat(SQL).singleElement().asString()
+                .doesNotContain("autores", "created_at", "genero");
+    }
+
+    @Test
+    void librosConFiltroYCamposCombinanAmbos() throws Exception {
+        JsonNode primero = primero(get("/api/v1/libros")
+                .param("fields", "titulo")
+                .param("autorId", autor.getId().toString()));
+
+        assertThat(campos(primero)).containsExactly("titulo");
+        assertThat(primero.get("titulo").asText()).isEqualTo("Libro parcial");
+    }
+
+    @Test
+    void autoresSoloDevuelvenLosCamposPedidos() throws Exception {
+        JsonNode primero = primero(get("/api/v1/autores")
+                .param("fields", "id,apellido")
+                .param("sort", "id,desc"));
+
+        assertThat(campos(primero)).containsExactlyInAnyOrder("id", "apellido");
+        // La consulta puede salir de la caché de consultas: si hubo SQL, solo esas columnas
+        assertThat(SQL).allSatisfy(sql -> assertThat(sql).doesNotContain("nacionalidad", "fecha_nacimiento"));
+    }
+
+    @Test
+    void campoDesconocidoResponde400() throws Exception {
+        mockMvc.perform(get("/api/v1/libros").param("fields", "id,contrasena"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/autores").param("fields", ","))
+                .andExpect(status().isBadRequest());
+    }
+
+    /** Primer elemento de content; deja en SQL solo las sentencias de la petición. */
+    private JsonNode primero(RequestBuilder request) throws Exception {
+        SQL.clear();
+        String cuerpo = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(cuerpo).get("content").get(0);
+    }
+
+    private static List<String> campos(JsonNode nodo) {
+        List<String> nombres = new ArrayList<>();
+        nodo.fieldNames().forEachRemaining(nombres::add);
+        return nombres;
+    }
+}
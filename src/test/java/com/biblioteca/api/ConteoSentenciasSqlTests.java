@@ -0,0 +1,266 @@
+package com.biblioteca.api;
+
+import com.biblioteca.api.entity.AutorEntity;
+import com.biblioteca.api.entity.LibroEntity;
+import com.biblioteca.api.repository.AutorRepository;
+import com.biblioteca.api.repository.LibroRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cuenta las sentencias SQL que ejecuta cada endpoint de lectura.
+ * Protege contra regresiones N+1 (un SELECT extra por autor al mapear libros)
+ * y verifica que las lecturas por ID cacheadas, incluido el 304 del GET
+ * condicional, no ejecuten SQL.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ConteoSentenciasSqlTests {
+
+    private static final int AUTORES_DE_PRUEBA = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    private Statistics statistics;
+    private final List<AutorEntity> autores = new ArrayList<>();
+    private final List<LibroEntity> libros = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Un libro por autor distinto: el peor caso para el N+1
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < AUTORES_DE_PRUEBA; i++) {
+            AutorEntity autor = autorRepository.save(AutorEntity.builder()
+                    .nombre("Autor" + i)
+                    .apellido("Prueba " + sufijo)
+                    .build());
+            autores.add(autor);
+            libros.add(libroRepository.save(LibroEntity.builder()
+                    .titulo("Libro " + i + " " + sufijo)
+                    .numPaginas(100)
+                    .autor(autor)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void limpiar() {
+        libroRepository.deleteAll(libros);
+        autorRepository.deleteAll(autores);
+    }
+
+    @Test
+    void listarLibrosEjecutaDatosMasConteo() throws Exception {
+        assertThat(sentencias(get("/api/v1/libros").param("size", "20")))
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void buscarLibroPorIdEjecutaDatosYVersionEnUnaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/v1/libros/{id}", libros.get(0).getId())))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void listarLibrosDeAutorResuelveAutorYPaginaEnUnaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/v1/autores/{id}/libros", autores.get(0).getId())))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void listarLibrosDeAutorInexistenteResponde404() throws Exception {
+        mockMvc.perform(get("/api/v1/autores/{id}/libros", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listarAutoresEjecutaDatosMasConteo() throws Exception {
+        assertThat(sentencias(get("/api/v1/autores").param("size", "20")))
+                .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void buscarAutorPorIdEjecutaUnaSolaConsulta() throws Exception {
+        assertThat(sentencias(get("/api/v1/autores/{id}", autores.get(0).getId())))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void buscarLibrosPorIdsEjecutaUnaSolaConsulta() throws Exception {
+        String ids = libros.get(2).getId() + "," + libros.get(0).getId() + ",-1," + libros.get(1).getId();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/libros").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(libros.get(2).getId()))
+                .andExpect(jsonPath("$.content[1].id").value(libros.get(0).getId()))
+                .andExpect(jsonPath("$.content[2].id").value(libros.get(1).getId()))
+                .andExpect(jsonPath("$.faltantes[0]").value(-1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarAutoresPorIdsEjecutaUnaSolaConsulta() throws Exception {
+        String ids = autores.get(1).getId() + "," + autores.get(0).getId();
+
+        assertThat(sentencias(get("/api/v1/autores").param("ids", ids)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void buscarLibroPorIdCacheadoNoEjecutaSql() throws Exception {
+        sentencias(get("/api/v1/libros/{id}", libros.get(0).getId()));
+
+        assertThat(sentencias(get("/api/v1/libros/{id}", libros.get(0).getId())))
+                .isZero();
+    }
+
+    @Test
+    void buscarAutorPorIdCacheadoNoEjecutaSql() throws Exception {
+        sentencias(get("/api/v1/autores/{id}", autores.get(0).getId()));
+
+        assertThat(sentencias(get("/api/v1/autores/{id}", autores.get(0).getId())))
+                .isZero();
+    }
+
+    @Test
+    void libroSinCambiosResponde304SinSql() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/libros/{id}", libros.get(0).getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/libros/{id}", libros.get(0).getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void renombrarAutorInvalidaLosLibrosCacheados() throws Exception {
+        AutorEntity autor = autores.get(0);
+        String etag = mockMvc.perform(get("/api/v1/libros/{id}", libros.get(0).getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/v1/autores/{id}", autor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Renombrado\", \"apellido\": \"" + autor.getApellido() + "\"}"))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/libros/{id}", libros.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.autor_nombre_completo")
+                        .value("Renombrado " + autor.getApellido()))
+                // La versión del libro incluye la del autor que embebe
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listadoSinCambiosResponde304YRenombrarAlAutorCambiaElEtag() throws Exception {
+        AutorEntity autor = autores.get(0);
+        String etag = mockMvc.perform(get("/api/v1/autores/{id}/libros", autor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/autores/{id}/libros", autor.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // El nombre embebido cambia sin tocar el updated_at de los libros
+        mockMvc.perform(put("/api/v1/autores/{id}", autor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Renombrado\", \"apellido\": \"" + autor.getApellido() + "\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/autores/{id}/libros", autor.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void eliminarLibroEjecutaUnSoloUpdate() throws Exception {
+        statistics.clear();
+        mockMvc.perform(delete("/api/v1/libros/{id}", libros.get(0).getId()))
+                .andExpect(status().isNoContent());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(libroRepository.findById(libros.get(0).getId()))
+                .hasValueSatisfying(libro -> assertThat(libro.getActivo()).isFalse());
+    }
+
+    @Test
+    void eliminarLibroInexistenteResponde404() throws Exception {
+        mockMvc.perform(delete("/api/v1/libros/{id}", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void eliminarAutorDesactivaSusLibrosEnCascada() throws Exception {
+        statistics.clear();
+        mockMvc.perform(delete("/api/v1/autores/{id}", autores.get(0).getId()))
+                .andExpect(status().isNoContent());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(libroRepository.findById(libros.get(0).getId()))
+                .hasValueSatisfying(libro -> assertThat(libro.getActivo()).isFalse());
+    }
+
+    @Test
+    void eliminarLibrosEnLoteInformaLosInexistentes() throws Exception {
+        mockMvc.perform(delete("/api/v1/libros/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + libros.get(1).getId() + ", -1, " + libros.get(2).getId() + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.encontrados").value(2))
+                .andExpect(jsonPath("$.faltantes[0]").value(-1));
+    }
+
+    private long sentencias(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
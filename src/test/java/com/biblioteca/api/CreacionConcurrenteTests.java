@@ -0,0 +1,149 @@
+package com.biblioteca.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Duplicados detectados por las restricciones únicas de la BD (ISBN y
+ * nombre + apellido de autores activos) en lugar de una consulta previa.
+ *
+ * Varias peticiones idénticas salen a la vez: exactamente una crea el
+ * recurso y el resto recibe 409, sin 500 ni filas duplicadas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CreacionConcurrenteTests {
+
+    private static final int PETICIONES = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String apellido;
+    private String isbn;
+    private Long autorId;
+
+    @BeforeEach
+    void setUp() {
+        apellido = "Concurrente " + UUID.randomUUID().toString().substring(0, 8);
+        isbn = String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000_000L, 10_000_000_000_000L));
+        autorId = jdbcTemplate.queryForObject(
+                "INSERT INTO autores (id, nombre, apellido) VALUES (nextval('autores_id_seq'), 'Base', ?) RETURNING id",
+                Long.class, apellido);
+    }
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM libros WHERE autor_id IN (SELECT id FROM autores WHERE apellido = ?)", apellido);
+        jdbcTemplate.update("DELETE FROM autores WHERE apellido = ?", apellido);
+    }
+
+    @Test
+    void autoresConcurrentesConElMismoNombreUnoCreaElRestoRecibe409() throws Exception {
+        String cuerpo = "{\"nombre\": \"Gabriel\", \"apellido\": \"" + apellido + "\"}";
+
+        List<Integer> estados = enParalelo(() -> mockMvc.perform(post("/api/v1/autores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andReturn());
+
+        assertThat(estados).containsOnly(201, 409).filteredOn(estado -> estado == 201).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM autores WHERE nombre = 'Gabriel' AND apellido = ?", Long.class, apellido))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void librosConcurrentesConElMismoIsbnUnoCreaElRestoRecibe409() throws Exception {
+        String cuerpo = "{\"titulo\": \"Duplicado\", \"isbn\": \"" + isbn + "\", \"autor_id\": " + autorId + "}";
+
+        List<Integer> estados = enParalelo(() -> mockMvc.perform(post("/api/v1/libros")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo))
+                .andReturn());
+
+        assertThat(estados).containsOnly(201, 409).filteredOn(estado -> estado == 201).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM libros WHERE isbn = ?", Long.class, isbn))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void duplicadoRespondeConflictoConElValor() throws Exception {
+        mockMvc.perform(post("/api/v1/libros")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Original\", \"isbn\": \"" + isbn + "\", \"autor_id\": " + autorId + "}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/libros")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Copia\", \"isbn\": \"" + isbn + "\", \"autor_id\": " + autorId + "}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Ya existe un Libro (ISBN) con el valor '" + isbn + "'"));
+    }
+
+    @Test
+    void actualizarAUnNombreOcupadoResponde409() throws Exception {
+        Long otroId = jdbcTemplate.queryForObject(
+                "INSERT INTO autores (id, nombre, apellido) VALUES (nextval('autores_id_seq'), 'Otro', ?) RETURNING id",
+                Long.class, apellido);
+
+        mockMvc.perform(put("/api/v1/autores/{id}", otroId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Base\", \"apellido\": \"" + apellido + "\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Ejecuta la petición desde PETICIONES hilos liberados a la vez y
+     * devuelve los estados HTTP.
+     */
+    private List<Integer> enParalelo(Callable<MvcResult> peticion) throws Exception {
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(PETICIONES);
+        try {
+            List<Future<MvcResult>> resultados = new ArrayList<>();
+            for (int i = 0; i < PETICIONES; i++) {
+                resultados.add(hilos.submit(() -> {
+                    salida.await();
+                    return peticion.call();
+                }));
+            }
+            salida.countDown();
+
+            List<Integer> estados = new ArrayList<>();
+            for (Future<MvcResult> resultado : resultados) {
+                estados.add(resultado.get().getResponse().getStatus());
+            }
+            return estados;
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.biblioteca.api.carga;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Punto de entrada de las pruebas de carga (no es un test de JUnit).
+ *
+ * 1. Sembrar datos sintéticos en una base local:
+ *    ./mvnw -Pcarga test-compile exec:java -Dexec.args="sembrar --libros=1000000 --autores=50000"
+ * 2. Levantar la API contra esa base (./mvnw spring-boot:run) y generar carga:
+ *    ./mvnw -Pcarga test-compile exec:java -Dexec.args="ejecutar --rps=200 --duracion=60"
+ * 3. Tiempo de arranque con y sin AOT + CDS (tras ./mvnw -Parranque package, con la base levantada):
+ *    ./mvnw -Pcarga test-compile exec:java -Dexec.args="arranque --repeticiones=5"
+ * 4. Memoria y escaneo del modelo columnar de analítica frente a SQL (sobre la base sembrada):
+ *    ./mvnw -Pcarga test-compile exec:java -Dexec.args="analitica --repeticiones=20"
+ *
+ * Opciones comunes: --jdbc, --usuario, --clave, --semilla.
+ * sembrar: --libros, --autores, --limpiar (TRUNCATE previo).
+ * ejecutar: --url, --rps, --calentamiento y --duracion (segundos).
+ * arranque: --directorio (target/arranque), --repeticiones y --limite (segundos por arranque);
+ * --jdbc, --usuario y --clave se pasan a la aplicación solo si se indican.
+ * analitica: --repeticiones y el rango de años --desde / --hasta (1950-1999).
+ */
+public final class CargaMain {
+
+    private CargaMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Uso: sembrar|ejecutar|arranque|analitica [--opcion=valor ...]");
+            return;
+        }
+        Map<String, String> opciones = opciones(Arrays.copyOfRange(args, 1, args.length));
+        if (args[0].equals("arranque")) {
+            // Lanza la propia aplicación: no necesita conexión desde aquí
+            new MedidorArranque(Path.of(opciones.getOrDefault("directorio", "target/arranque")), datasource(opciones))
+                    .medir(Integer.parseInt(opciones.getOrDefault("repeticiones", "5")),
+                            Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("limite", "120"))));
+            return;
+        }
+        long semilla = Long.parseLong(opciones.getOrDefault("semilla", "42"));
+
+        try (Connection conexion = DriverManager.getConnection(
+                opciones.getOrDefault("jdbc", "jdbc:postgresql://localhost:5432/bd-biblioteca"),
+                opciones.getOrDefault("usuario", "postgres"),
+                opciones.getOrDefault("clave", "admin"))) {
+
+            switch (args[0]) {
+                case "sembrar" -> new Sembrador(conexion, semilla).sembrar(
+                        Long.parseLong(opciones.getOrDefault("autores", "50000")),
+                        Long.parseLong(opciones.getOrDefault("libros", "1000000")),
+                        opciones.containsKey("limpiar"));
+                case "ejecutar" -> {
+                    Escenario escenario = new Escenario(
+                            opciones.getOrDefault("url", "http://localhost:8080"),
+                            muestraIds(conexion, "libros"),
+                            muestraIds(conexion, "autores"));
+                    new GeneradorCarga().ejecutar(
+                            escenario.endpoints(),
+                            Double.parseDouble(opciones.getOrDefault("rps", "200")),
+                            Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("calentamiento", "15"))),
+                            Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("duracion", "60"))),
+                            semilla);
+                }
+                case "analitica" -> new MedidorAnalitica(conexion).medir(
+                        Integer.parseInt(opciones.getOrDefault("repeticiones", "20")),
+                        Integer.parseInt(opciones.getOrDefault("desde", "1950")),
+                        Integer.parseInt(opciones.getOrDefault("hasta", "1999")));
+                default -> System.out.println("Comando desconocido: " + args[0]);
+            }
+        }
+    }
+
+    /**
+     * Hasta 20.000 ids activos al azar. TABLESAMPLE evita recorrer la tabla
+     * entera en volúmenes grandes; en tablas chicas se cae al ORDER BY random().
+     */
+    private static long[] muestraIds(Connection conexion, String tabla) throws SQLException {
+        long[] ids = consultarIds(conexion,
+                "SELECT id FROM " + tabla + " TABLESAMPLE SYSTEM (2) WHERE activo LIMIT 20000");
+        if (ids.length < 1_000) {
+            ids = consultarIds(conexion, "SELECT id FROM " + tabla + " WHERE activo ORDER BY random() LIMIT 20000");
+        }
+        if (ids.length == 0) {
+            throw new IllegalStateException("No hay " + tabla + " activos: ejecutar primero 'sembrar'");
+        }
+        return ids;
+    }
+
+    private static long[] consultarIds(Connection conexion, String sql) throws SQLException {
+        try (Statement sentencia = conexion.createStatement(); ResultSet rs = sentencia.executeQuery(sql)) {
+            long[] ids = new long[20_000];
+            int cantidad = 0;
+            while (rs.next()) {
+                ids[cantidad++] = rs.getLong(1);
+            }
+            return Arrays.copyOf(ids, cantidad);
+        }
+    }
+
+    /** Propiedades spring.datasource.* para la aplicación medida, solo las indicadas. */
+    private static List<String> datasource(Map<String, String> opciones) {
+        List<String> argumentos = new ArrayList<>();
+        Map.of("jdbc", "url", "usuario", "username", "clave", "password").forEach((opcion, propiedad) -> {
+            if (opciones.containsKey(opcion)) {
+                argumentos.add("--spring.datasource." + propiedad + "=" + opciones.get(opcion));
+            }
+        });
+        return argumentos;
+    }
+
+    private static Map<String, String> opciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            String limpio = arg.startsWith("--") ? arg.substring(2) : arg;
+            int igual = limpio.indexOf('=');
+            if (igual < 0) {
+                opciones.put(limpio, "true");
+            } else {
+                opciones.put(limpio.substring(0, igual), limpio.substring(igual + 1));
+            }
+        }
+        return opciones;
+    }
+}
@@ -0,0 +1,114 @@
+package com.biblioteca.api.carga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Valores sintéticos con distribuciones parecidas a un catálogo real:
+ * géneros con pesos, años sesgados a lo reciente, páginas log-normales
+ * y autores con productividad de cola larga (pocos autores con muchos libros).
+ */
+final class Distribuciones {
+
+    static final String[] GENEROS = {
+            "Novela", "Romance", "Cuentos", "Ciencia ficción", "Fantasía",
+            "Policial", "Ensayo", "Poesía", "Historia", "Realismo mágico"};
+    private static final double[] PESOS_GENERO = {30, 10, 10, 9, 8, 8, 8, 6, 6, 5};
+
+    static final String[] NOMBRES = {
+            "Gabriel", "Isabel", "Mario", "Laura", "Jorge", "Elena", "Pablo", "Julia", "Carlos", "Rosa",
+            "Andrés", "Lucía", "Miguel", "Ana", "Rubén", "Clara", "Tomás", "Sofía", "Diego", "Marta",
+            "Julio", "Teresa", "Octavio", "Carmen", "Ernesto", "Alicia", "Rómulo", "Gioconda", "Horacio", "Elvira"};
+
+    static final String[] APELLIDOS = {
+            "García", "Vargas", "Allende", "Borges", "Neruda", "Cortázar", "Fuentes", "Rulfo", "Paz", "Mistral",
+            "Sábato", "Onetti", "Benedetti", "Bolaño", "Poniatowska", "Esquivel", "Lispector", "Arguedas", "Storni",
+            "Quiroga", "Márquez", "Llosa", "Belli", "Ibarbourou", "Carpentier", "Lezama", "Piñera", "Vallejo",
+            "Castellanos", "Galeano", "Donoso", "Bombal", "Ocampo", "Puig", "Saer", "Piglia", "Aira", "Pitol"};
+
+    static final String[] NACIONALIDADES = {
+            "Argentina", "Mexicana", "Colombiana", "Chilena", "Peruana", "Española", "Uruguaya", "Cubana",
+            "Venezolana", "Brasileña"};
+    private static final double[] PESOS_NACIONALIDAD = {18, 18, 14, 10, 10, 12, 6, 5, 4, 3};
+
+    static final String[] SUSTANTIVOS = {
+            "soledad", "amor", "ciudad", "casa", "tiempo", "memoria", "río", "noche", "espejo", "laberinto",
+            "silencio", "viaje", "sombra", "jardín", "guerra", "mar", "fuego", "invierno", "puerta", "sueño",
+            "destino", "olvido", "tierra", "viento", "camino", "isla", "luna", "piedra", "reino", "voz"};
+
+    static final String[] ARTICULOS = {"El", "La", "Los", "Las", "Un", "Una"};
+
+    private Distribuciones() {
+    }
+
+    static String genero(SplittableRandom azar) {
+        return GENEROS[ponderado(azar, PESOS_GENERO)];
+    }
+
+    static String nacionalidad(SplittableRandom azar) {
+        return azar.nextInt(10) == 0 ? null : NACIONALIDADES[ponderado(azar, PESOS_NACIONALIDAD)];
+    }
+
+    /** 70 % publicado en las últimas décadas (exponencial, media 15 años), 30 % uniforme 1600-2000. */
+    static int anioPublicacion(SplittableRandom azar) {
+        if (azar.nextDouble() < 0.7) {
+            return Math.max(1600, 2025 - (int) (-15 * Math.log(1 - azar.nextDouble())));
+        }
+        return 1600 + azar.nextInt(401);
+    }
+
+    /** Log-normal con mediana ~280 páginas, acotada a [24, 2000]. */
+    static int numPaginas(SplittableRandom azar) {
+        double normal = gaussiana(azar);
+        return (int) Math.clamp(Math.round(280 * Math.exp(0.45 * normal)), 24, 2000);
+    }
+
+    /**
+     * Índice de autor en [0, autores) con sesgo de potencia:
+     * los índices bajos concentran muchos más libros.
+     */
+    static long autor(SplittableRandom azar, long autores) {
+        return Math.min(autores - 1, (long) (autores * Math.pow(azar.nextDouble(), 2.5)));
+    }
+
+    static String titulo(SplittableRandom azar) {
+        String titulo = ARTICULOS[azar.nextInt(ARTICULOS.length)] + " "
+                + SUSTANTIVOS[azar.nextInt(SUSTANTIVOS.length)] + " de "
+                + SUSTANTIVOS[azar.nextInt(SUSTANTIVOS.length)];
+        return azar.nextInt(4) == 0 ? titulo + " " + (1 + azar.nextInt(9)) : titulo;
+    }
+
+    /** Palabra suelta para búsquedas y prefijos. */
+    static String palabra(SplittableRandom azar) {
+        return SUSTANTIVOS[azar.nextInt(SUSTANTIVOS.length)];
+    }
+
+    /** ISBN-13 con prefijo 978 y dígito de control válido. */
+    static String isbn(long secuencia) {
+        String base = "978" + String.format("%09d", secuencia % 1_000_000_000L);
+        int suma = 0;
+        for (int i = 0; i < 12; i++) {
+            suma += (base.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return base + (10 - suma % 10) % 10;
+    }
+
+    private static int ponderado(SplittableRandom azar, double[] pesos) {
+        double total = 0;
+        for (double peso : pesos) {
+            total += peso;
+        }
+        double objetivo = azar.nextDouble() * total;
+        for (int i = 0; i < pesos.length; i++) {
+            objetivo -= pesos[i];
+            if (objetivo < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    private static double gaussiana(SplittableRandom azar) {
+        // Box-Muller
+        return Math.sqrt(-2 * Math.log(1 - azar.nextDouble())) * Math.cos(2 * Math.PI * azar.nextDouble());
+    }
+}
@@ -0,0 +1,160 @@
+package com.biblioteca.api.carga;
+
+import com.biblioteca.api.carga.GeneradorCarga.Endpoint;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mezcla de peticiones sobre todos los endpoints de LibroController y
+ * AutorController (más el autocompletado), con pesos que imitan un
+ * tráfico dominado por lecturas.
+ *
+ * Los ids salen de una muestra de filas activas; las altas usan nombres
+ * e ISBN únicos por ejecución para no chocar con los existentes.
+ */
+final class Escenario {
+
+    private static final String JSON = "application/json";
+
+    private final String base;
+    private final long[] libros;
+    private final long[] autores;
+    private final AtomicLong secuencia = new AtomicLong(System.currentTimeMillis() % 100_000_000L * 10);
+
+    Escenario(String base, long[] libros, long[] autores) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.libros = libros;
+        this.autores = autores;
+    }
+
+    List<Endpoint> endpoints() {
+        List<Endpoint> endpoints = new ArrayList<>();
+
+        // ── Libros ──
+        endpoints.add(new Endpoint("GET /libros/{id}", 25, a -> get("/api/v1/libros/" + libro(a))));
+        endpoints.add(new Endpoint("GET /libros", 8, a -> get("/api/v1/libros?size=20&page=" + a.nextInt(50))));
+        endpoints.add(new Endpoint("GET /libros?conteo", 5, a -> get("/api/v1/libros?conteo=estimado&size=20&page=" + a.nextInt(50))));
+        endpoints.add(new Endpoint("GET /libros/scroll", 5, a -> get("/api/v1/libros/scroll?size=20&sort=" + orden(a, "id", "titulo", "createdAt"))));
+        endpoints.add(new Endpoint("GET /libros/search", 6, a -> get("/api/v1/libros/search?q=" + codificar(Distribuciones.palabra(a)))));
+        endpoints.add(new Endpoint("GET /libros/export", 0.02, a -> get("/api/v1/libros/export?formato=" + (a.nextBoolean() ? "ndjson" : "csv"))));
+        endpoints.add(new Endpoint("POST /libros", 3, a -> post("/api/v1/libros", libroJson(a))));
+        endpoints.add(new Endpoint("POST /libros/batch", 0.5, a -> post("/api/v1/libros/batch", lista(a, 50, this::libroJson))));
+        endpoints.add(new Endpoint("POST /libros/import", 0.1, this::importacion));
+        endpoints.add(new Endpoint("PUT /libros/{id}", 2, a -> put("/api/v1/libros/" + libro(a), libroJson(a))));
+        endpoints.add(new Endpoint("DELETE /libros/{id}", 0.5, a -> delete("/api/v1/libros/" + libro(a))));
+
+        // ── Autores ──
+        endpoints.add(new Endpoint("GET /autores/{id}", 10, a -> get("/api/v1/autores/" + autor(a))));
+        endpoints.add(new Endpoint("GET /autores", 4, a -> get("/api/v1/autores?size=20&page=" + a.nextInt(50))));
+        endpoints.add(new Endpoint("GET /autores?conteo", 2, a -> get("/api/v1/autores?conteo=cache&size=20&page=" + a.nextInt(50))));
+        endpoints.add(new Endpoint("GET /autores/scroll", 2, a -> get("/api/v1/autores/scroll?size=20&sort=" + orden(a, "id", "apellido", "nombre", "createdAt"))));
+        endpoints.add(new Endpoint("GET /autores/{id}/libros", 5, a -> get("/api/v1/autores/" + autor(a) + "/libros")));
+        endpoints.add(new Endpoint("POST /autores", 1, a -> post("/api/v1/autores", autorJson(a))));
+        endpoints.add(new Endpoint("POST /autores/batch", 0.3, a -> post("/api/v1/autores/batch", lista(a, 50, this::autorJson))));
+        endpoints.add(new Endpoint("PUT /autores/{id}", 1, a -> put("/api/v1/autores/" + autor(a), autorJson(a))));
+        endpoints.add(new Endpoint("DELETE /autores/{id}", 0.2, a -> delete("/api/v1/autores/" + autor(a))));
+
+        // ── Autocompletado ──
+        endpoints.add(new Endpoint("GET /suggest", 6, a -> get("/api/v1/suggest?prefix="
+                + codificar(Distribuciones.palabra(a).substring(0, 1 + a.nextInt(3))))));
+        return endpoints;
+    }
+
+    // ── Cuerpos ──
+
+    private String libroJson(SplittableRandom a) {
+        return String.format(
+                "{\"titulo\":\"%s\",\"isbn\":\"%s\",\"genero\":\"%s\",\"anio_publicacion\":%d,\"num_paginas\":%d,\"autor_id\":%d}",
+                Distribuciones.titulo(a), Distribuciones.isbn(900_000_000L + secuencia.incrementAndGet()),
+                Distribuciones.genero(a), Distribuciones.anioPublicacion(a), Distribuciones.numPaginas(a), autor(a));
+    }
+
+    private String autorJson(SplittableRandom a) {
+        String nombre = Distribuciones.NOMBRES[a.nextInt(Distribuciones.NOMBRES.length)];
+        String apellido = Distribuciones.APELLIDOS[a.nextInt(Distribuciones.APELLIDOS.length)] + " Carga" + secuencia.incrementAndGet();
+        String nacionalidad = Distribuciones.nacionalidad(a);
+        return nacionalidad == null
+                ? String.format("{\"nombre\":\"%s\",\"apellido\":\"%s\"}", nombre, apellido)
+                : String.format("{\"nombre\":\"%s\",\"apellido\":\"%s\",\"nacionalidad\":\"%s\"}", nombre, apellido, nacionalidad);
+    }
+
+    private HttpRequest importacion(SplittableRandom a) {
+        StringBuilder csv = new StringBuilder("titulo,isbn,genero,anio_publicacion,num_paginas,autor_id\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(Distribuciones.titulo(a)).append(',')
+                    .append(Distribuciones.isbn(900_000_000L + secuencia.incrementAndGet())).append(',')
+                    .append(Distribuciones.genero(a)).append(',')
+                    .append(Distribuciones.anioPublicacion(a)).append(',')
+                    .append(Distribuciones.numPaginas(a)).append(',')
+                    .append(autor(a)).append('\n');
+        }
+        return HttpRequest.newBuilder(uri("/api/v1/libros/import?formato=csv"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build();
+    }
+
+    private interface Cuerpo {
+        String generar(SplittableRandom azar);
+    }
+
+    private static String lista(SplittableRandom a, int tamanio, Cuerpo cuerpo) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < tamanio; i++) {
+            json.add(cuerpo.generar(a));
+        }
+        return json.toString();
+    }
+
+    // ── Utilidades ──
+
+    private long libro(SplittableRandom a) {
+        return libros[a.nextInt(libros.length)];
+    }
+
+    private long autor(SplittableRandom a) {
+        return autores[a.nextInt(autores.length)];
+    }
+
+    private static String orden(SplittableRandom a, String... campos) {
+        return campos[a.nextInt(campos.length)] + (a.nextBoolean() ? ",asc" : ",desc");
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    private URI uri(String ruta) {
+        return URI.create(base + ruta);
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(uri(ruta)).GET().build();
+    }
+
+    private HttpRequest delete(String ruta) {
+        return HttpRequest.newBuilder(uri(ruta)).DELETE().build();
+    }
+
+    private HttpRequest post(String ruta, String json) {
+        return HttpRequest.newBuilder(uri(ruta))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest put(String ruta, String json) {
+        return HttpRequest.newBuilder(uri(ruta))
+                .header("Content-Type", JSON)
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
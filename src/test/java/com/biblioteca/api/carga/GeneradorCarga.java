@@ -0,0 +1,181 @@
+package com.biblioteca.api.carga;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Generador de carga de modelo abierto: lanza peticiones a una tasa fija
+ * sin esperar a que terminen las anteriores.
+ *
+ * La latencia se mide desde el instante en que la petición debía salir, no
+ * desde que salió: si el generador o el servidor se atrasan, la espera cuenta
+ * (corrección de omisión coordinada). Los percentiles son exactos: se guardan
+ * todas las muestras del período medido.
+ */
+final class GeneradorCarga {
+
+    /** Endpoint del escenario: nombre para el reporte, peso relativo y petición. */
+    record Endpoint(String nombre, double peso, Function<SplittableRandom, HttpRequest> peticion) {
+    }
+
+    private static final class Metricas {
+
+        private long[] latencias = new long[1024];
+        private int muestras;
+        private final LongAdder exitos = new LongAdder();
+        private final LongAdder rechazos = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+
+        synchronized void registrar(long nanos) {
+            if (muestras == latencias.length) {
+                latencias = Arrays.copyOf(latencias, muestras * 2);
+            }
+            latencias[muestras++] = nanos;
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latencias, muestras);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    void ejecutar(List<Endpoint> endpoints, double rps, Duration calentamiento, Duration duracion, long semilla) {
+        SplittableRandom azar = new SplittableRandom(semilla);
+        double[] acumulado = new double[endpoints.size()];
+        double total = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            total += endpoints.get(i).peso();
+            acumulado[i] = total;
+        }
+
+        Map<Endpoint, Metricas> metricas = new LinkedHashMap<>();
+        endpoints.forEach(e -> metricas.put(e, new Metricas()));
+
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long inicioMedicion = inicio + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+        AtomicLong enVuelo = new AtomicLong();
+
+        System.out.printf("Generando %.0f req/s: %s de calentamiento + %s medidos%n", rps, calentamiento, duracion);
+        for (long n = 0; ; n++) {
+            long programado = inicio + n * intervalo;
+            if (programado >= fin) {
+                break;
+            }
+            esperarHasta(programado);
+
+            Endpoint endpoint = elegir(endpoints, acumulado, azar.nextDouble() * total);
+            HttpRequest peticion = endpoint.peticion().apply(azar);
+            boolean medida = programado >= inicioMedicion;
+
+            enVuelo.incrementAndGet();
+            cliente.sendAsync(peticion, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((respuesta, error) -> {
+                        try {
+                            if (medida) {
+                                registrar(metricas.get(endpoint), programado, respuesta, error);
+                            }
+                        } finally {
+                            enVuelo.decrementAndGet();
+                        }
+                    });
+        }
+
+        System.out.println("Esperando respuestas pendientes...");
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (enVuelo.get() > 0 && System.nanoTime() < limite) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        if (enVuelo.get() > 0) {
+            System.out.println("Quedaron " + enVuelo.get() + " peticiones sin responder");
+        }
+        reportar(metricas, duracion);
+    }
+
+    private static void registrar(Metricas metricas, long programado, HttpResponse<?> respuesta, Throwable error) {
+        metricas.registrar(System.nanoTime() - programado);
+        if (error != null || respuesta.statusCode() >= 500) {
+            metricas.errores.increment();
+        } else if (respuesta.statusCode() >= 400) {
+            metricas.rechazos.increment();
+        } else {
+            metricas.exitos.increment();
+        }
+    }
+
+    private static Endpoint elegir(List<Endpoint> endpoints, double[] acumulado, double valor) {
+        for (int i = 0; i < acumulado.length; i++) {
+            if (valor < acumulado[i]) {
+                return endpoints.get(i);
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static void esperarHasta(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    // ── Reporte ──
+
+    private static void reportar(Map<Endpoint, Metricas> metricas, Duration duracion) {
+        double segundos = duracion.toNanos() / 1e9;
+        String formato = "%-34s %8s %6s %6s %9s %9s %9s %9s %9s%n";
+        System.out.printf(formato, "endpoint", "ok", "4xx", "error", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        Metricas global = new Metricas();
+        metricas.forEach((endpoint, m) -> {
+            long[] latencias = m.ordenadas();
+            for (long latencia : latencias) {
+                global.registrar(latencia);
+            }
+            global.exitos.add(m.exitos.sum());
+            global.rechazos.add(m.rechazos.sum());
+            global.errores.add(m.errores.sum());
+            linea(formato, endpoint.nombre(), m, latencias, segundos);
+        });
+        linea(formato, "TOTAL", global, global.ordenadas(), segundos);
+    }
+
+    private static void linea(String formato, String nombre, Metricas m, long[] latencias, double segundos) {
+        System.out.printf(formato, nombre, m.exitos.sum(), m.rechazos.sum(), m.errores.sum(),
+                String.format("%.1f", latencias.length / segundos),
+                ms(percentil(latencias, 0.50)), ms(percentil(latencias, 0.99)),
+                ms(percentil(latencias, 0.999)), ms(latencias.length == 0 ? -1 : latencias[latencias.length - 1]));
+    }
+
+    private static long percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return -1;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.clamp(indice, 0, ordenadas.length - 1)];
+    }
+
+    private static String ms(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,177 @@
+package com.biblioteca.api.carga;
+
+import com.biblioteca.api.dto.comun.PaginasGeneroDto;
+import com.biblioteca.api.service.CatalogoColumnar;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Memoria y tiempo de escaneo del modelo columnar de analítica
+ * (CatalogoColumnar) frente a las consultas SQL equivalentes.
+ *
+ * Carga libros y autores activos de la base sembrada igual que
+ * AnaliticaCatalogo (en orden de id), compara los bytes de las columnas con
+ * el tamaño de las tablas en PostgreSQL y mide cada consulta en ambos lados.
+ * Antes de medir verifica que los dos lados den los mismos conteos.
+ */
+final class MedidorAnalitica {
+
+    private final Connection conexion;
+
+    MedidorAnalitica(Connection conexion) {
+        this.conexion = conexion;
+    }
+
+    void medir(int repeticiones, int desde, int hasta) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapAntes = runtime.totalMemory() - runtime.freeMemory();
+
+        long inicio = System.nanoTime();
+        CatalogoColumnar catalogo = cargar();
+        long cargaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        System.gc();
+        long heapDespues = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("Carga: %,d libros y %,d autores en %,d ms%n", catalogo.libros(), catalogo.autores(), cargaMs);
+        System.out.printf("%nMemoria%n");
+        System.out.printf("  columnas (estimado)      %,12d KiB  (%.1f bytes/libro)%n",
+                catalogo.bytes() / 1024, (double) catalogo.bytes() / Math.max(catalogo.libros(), 1));
+        System.out.printf("  heap retenido (GC)       %,12d KiB%n", (heapDespues - heapAntes) / 1024);
+        System.out.printf("  libros + autores (tabla) %,12d KiB%n", tamanio("pg_relation_size") / 1024);
+        System.out.printf("  con índices y TOAST      %,12d KiB%n", tamanio("pg_total_relation_size") / 1024);
+
+        Map<String, Callable<Map<String, Long>>> columnar = new LinkedHashMap<>();
+        Map<String, Callable<Map<String, Long>>> sql = new LinkedHashMap<>();
+
+        String anios = "libros por año " + desde + "-" + hasta;
+        columnar.put(anios, () -> catalogo.librosPorAnio(desde, hasta).porAnio().entrySet().stream()
+                .collect(Collectors.toMap(e -> String.valueOf(e.getKey()), Map.Entry::getValue)));
+        sql.put(anios, () -> conteos("SELECT anio_publicacion, COUNT(*) FROM libros "
+                + "WHERE activo AND anio_publicacion BETWEEN ? AND ? GROUP BY anio_publicacion", desde, hasta));
+
+        String paginas = "páginas por género";
+        columnar.put(paginas, () -> catalogo.paginasPorGenero().stream()
+                .collect(Collectors.toMap(PaginasGeneroDto::genero, PaginasGeneroDto::libros)));
+        sql.put(paginas, () -> conteos("SELECT COALESCE(NULLIF(btrim(genero), ''), 'sin_dato'), COUNT(*), "
+                + "AVG(num_paginas) FROM libros WHERE activo GROUP BY 1"));
+
+        String nacionalidades = "autores por nacionalidad";
+        columnar.put(nacionalidades, () -> catalogo.autoresPorNacionalidad().porNacionalidad());
+        sql.put(nacionalidades, () -> conteos("SELECT COALESCE(NULLIF(btrim(nacionalidad), ''), 'sin_dato'), "
+                + "COUNT(*) FROM autores WHERE activo GROUP BY 1"));
+
+        System.out.printf("%n%-26s %-8s %9s %9s %12s%n", "consulta", "lado", "mín ms", "p50 ms", "filas/s");
+        for (String consulta : columnar.keySet()) {
+            Map<String, Long> esperado = new TreeMap<>(sql.get(consulta).call());
+            Map<String, Long> obtenido = new TreeMap<>(columnar.get(consulta).call());
+            if (!esperado.equals(obtenido)) {
+                throw new IllegalStateException(consulta + ": el modelo columnar no coincide con SQL\n  sql:      "
+                        + esperado + "\n  columnar: " + obtenido);
+            }
+            long filas = consulta.equals(nacionalidades) ? catalogo.autores() : catalogo.libros();
+            reportar(consulta, "sql", tiempos(sql.get(consulta), repeticiones), filas);
+            reportar(consulta, "columnar", tiempos(columnar.get(consulta), repeticiones), filas);
+        }
+    }
+
+    /** Mismo recorrido que AnaliticaCatalogo: filas activas en orden de id, con cursor. */
+    private CatalogoColumnar cargar() throws SQLException {
+        long libros = contar("libros");
+        long autores = contar("autores");
+        CatalogoColumnar catalogo = new CatalogoColumnar((int) (libros + libros / 8), (int) (autores + autores / 8));
+
+        boolean autoCommit = conexion.getAutoCommit();
+        // El driver solo usa cursor (fetchSize) dentro de una transacción
+        conexion.setAutoCommit(false);
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.setFetchSize(10_000);
+            try (ResultSet rs = sentencia.executeQuery("SELECT id, genero, anio_publicacion, num_paginas, autor_id "
+                    + "FROM libros WHERE activo ORDER BY id")) {
+                while (rs.next()) {
+                    catalogo.ponerLibro(rs.getLong(1), rs.getString(2), rs.getObject(3, Integer.class),
+                            rs.getObject(4, Integer.class), rs.getLong(5));
+                }
+            }
+            try (ResultSet rs = sentencia.executeQuery(
+                    "SELECT id, nacionalidad FROM autores WHERE activo ORDER BY id")) {
+                while (rs.next()) {
+                    catalogo.ponerAutor(rs.getLong(1), rs.getString(2));
+                }
+            }
+            conexion.commit();
+        } finally {
+            conexion.setAutoCommit(autoCommit);
+        }
+        return catalogo;
+    }
+
+    private long contar(String tabla) throws SQLException {
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet rs = sentencia.executeQuery("SELECT COUNT(*) FROM " + tabla + " WHERE activo")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private long tamanio(String funcion) throws SQLException {
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet rs = sentencia.executeQuery(
+                     "SELECT " + funcion + "('libros') + " + funcion + "('autores')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /** [clave, conteo, ...] de un GROUP BY; las columnas extra se leen pero no se comparan. */
+    private Map<String, Long> conteos(String consulta, Object... parametros) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(consulta)) {
+            for (int i = 0; i < parametros.length; i++) {
+                sentencia.setObject(i + 1, parametros[i]);
+            }
+            Map<String, Long> conteos = new TreeMap<>();
+            try (ResultSet rs = sentencia.executeQuery()) {
+                int columnas = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    conteos.put(rs.getString(1), rs.getLong(2));
+                    for (int c = 3; c <= columnas; c++) {
+                        rs.getObject(c);
+                    }
+                }
+            }
+            return conteos;
+        }
+    }
+
+    /** Tiempos en nanos tras un calentamiento de la mitad de las repeticiones. */
+    private static long[] tiempos(Callable<?> consulta, int repeticiones) throws Exception {
+        for (int i = 0; i < Math.max(repeticiones / 2, 1); i++) {
+            consulta.call();
+        }
+        long[] tiempos = new long[repeticiones];
+        for (int i = 0; i < repeticiones; i++) {
+            long inicio = System.nanoTime();
+            consulta.call();
+            tiempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tiempos);
+        return tiempos;
+    }
+
+    private static void reportar(String consulta, String lado, long[] tiempos, long filas) {
+        long mediana = tiempos[tiempos.length / 2];
+        System.out.printf("%-26s %-8s %9.2f %9.2f %,12.0f%n", consulta, lado,
+                tiempos[0] / 1e6, mediana / 1e6, filas / (mediana / 1e9));
+    }
+}
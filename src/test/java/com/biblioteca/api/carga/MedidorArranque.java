@@ -0,0 +1,179 @@
+package com.biblioteca.api.carga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tiempo hasta la primera respuesta exitosa de ApiApplication, con y sin
+ * AOT + CDS (perfil arranque).
+ *
+ * Cada medición lanza un proceso JVM nuevo sobre el jar extraído y mide
+ * desde el lanzamiento hasta el primer 200 de GET /api/v1/libros?size=1:
+ * incluye arranque de la JVM, refresco del contexto, Flyway, Hibernate y
+ * la primera consulta. Los modos se alternan en cada repetición para que
+ * la deriva de la máquina (caché de disco, CPU) los afecte por igual.
+ */
+final class MedidorArranque {
+
+    /** Modo de arranque: nombre para el reporte y opciones de la JVM. */
+    record Modo(String nombre, List<String> opcionesJvm) {
+    }
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(500))
+            .build();
+
+    private final Path directorio;
+    private final List<String> argumentosApp;
+
+    /**
+     * @param directorio    salida del perfil arranque (jar extraído + application.jsa)
+     * @param argumentosApp argumentos extra para la aplicación (p. ej. --spring.datasource.url=...)
+     */
+    MedidorArranque(Path directorio, List<String> argumentosApp) {
+        this.directorio = directorio.toAbsolutePath();
+        this.argumentosApp = argumentosApp;
+    }
+
+    void medir(int repeticiones, Duration limite) throws InterruptedException {
+        Path jar = jarAplicacion();
+        Path archivoCds = directorio.resolve("application.jsa");
+        if (!Files.isRegularFile(archivoCds)) {
+            throw new IllegalStateException("No existe " + archivoCds + ": ejecutar antes ./mvnw -Parranque package");
+        }
+
+        List<Modo> modos = List.of(
+                new Modo("jar", List.of()),
+                new Modo("aot+cds", List.of(
+                        "-XX:SharedArchiveFile=" + archivoCds.getFileName(),
+                        "-Dspring.aot.enabled=true")));
+
+        Map<Modo, long[]> tiempos = new LinkedHashMap<>();
+        modos.forEach(modo -> tiempos.put(modo, new long[repeticiones]));
+
+        System.out.printf("Midiendo %s: %d repeticiones por modo%n", jar.getFileName(), repeticiones);
+        for (int i = 0; i < repeticiones; i++) {
+            for (Modo modo : modos) {
+                long nanos = primeraRespuesta(modo, jar, limite);
+                tiempos.get(modo)[i] = nanos;
+                System.out.printf("  %-8s #%d  %,7d ms%n", modo.nombre(), i + 1, TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        }
+        reportar(tiempos);
+    }
+
+    /**
+     * Lanza la aplicación en un puerto libre y sondea hasta el primer 200.
+     * La salida del proceso queda en arranque-{modo}.log para diagnosticar fallos.
+     */
+    private long primeraRespuesta(Modo modo, Path jar, Duration limite) throws InterruptedException {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(modo.opcionesJvm());
+        // Misma ruta relativa que en el entrenamiento: CDS valida el classpath
+        comando.addAll(List.of("-jar", jar.getFileName().toString(), "--server.port=" + puerto));
+        comando.addAll(argumentosApp);
+
+        Path log = directorio.resolve("arranque-" + modo.nombre().replace('+', '-') + ".log");
+        HttpRequest peticion = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + puerto + "/api/v1/libros?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        Process proceso = lanzar(comando, log);
+        try {
+            long fin = inicio + limite.toNanos();
+            while (System.nanoTime() < fin) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException(modo.nombre() + ": la aplicación terminó al arrancar (ver " + log + ")");
+                }
+                try {
+                    if (cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return System.nanoTime() - inicio;
+                    }
+                } catch (IOException todaviaNoEscucha) {
+                    // conexión rechazada: el servidor aún no abrió el puerto
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(modo.nombre() + ": sin respuesta 200 en " + limite + " (ver " + log + ")");
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private Process lanzar(List<String> comando, Path log) {
+        try {
+            return new ProcessBuilder(comando)
+                    .directory(directorio.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo lanzar " + comando, e);
+        }
+    }
+
+    /** El jar de la aplicación en la raíz del directorio extraído (las dependencias van en lib/). */
+    private Path jarAplicacion() {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            List<Path> jars = archivos.filter(p -> p.getFileName().toString().endsWith(".jar")).toList();
+            if (jars.size() != 1) {
+                throw new IllegalStateException("Se esperaba un jar en " + directorio + " y hay " + jars.size()
+                        + ": ejecutar ./mvnw -Parranque package");
+            }
+            return jars.getFirst();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer " + directorio, e);
+        }
+    }
+
+    private static int puertoLibre() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void reportar(Map<Modo, long[]> tiempos) {
+        System.out.printf("%n%-8s %9s %9s %9s%n", "modo", "mín ms", "p50 ms", "máx ms");
+        long medianaBase = -1;
+        for (Map.Entry<Modo, long[]> entrada : tiempos.entrySet()) {
+            long[] ordenados = entrada.getValue().clone();
+            Arrays.sort(ordenados);
+            long mediana = ordenados[ordenados.length / 2];
+            System.out.printf("%-8s %,9d %,9d %,9d%n", entrada.getKey().nombre(),
+                    TimeUnit.NANOSECONDS.toMillis(ordenados[0]),
+                    TimeUnit.NANOSECONDS.toMillis(mediana),
+                    TimeUnit.NANOSECONDS.toMillis(ordenados[ordenados.length - 1]));
+            if (medianaBase < 0) {
+                medianaBase = mediana;
+            } else {
+                System.out.printf("%-8s %8.1f%% de la mediana sin AOT + CDS%n", "", 100.0 * mediana / medianaBase);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.biblioteca.api.carga;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Carga volúmenes sintéticos en autores y libros con COPY.
+ *
+ * Los ids se asignan explícitamente a continuación del máximo actual y al
+ * final se ajustan las secuencias, así la API sigue generando ids válidos.
+ * Con la misma semilla genera siempre los mismos datos.
+ */
+final class Sembrador {
+
+    private static final int TAMANIO_BUFFER = 1 << 16;
+
+    private final Connection conexion;
+    private final SplittableRandom azar;
+
+    Sembrador(Connection conexion, long semilla) {
+        this.conexion = conexion;
+        this.azar = new SplittableRandom(semilla);
+    }
+
+    void sembrar(long autores, long libros, boolean limpiar) throws SQLException {
+        conexion.setAutoCommit(false);
+        try (Statement sentencia = conexion.createStatement()) {
+            if (limpiar) {
+                sentencia.execute("TRUNCATE libros, autores");
+            }
+            long primerAutor = maximo(sentencia, "autores") + 1;
+            long primerLibro = maximo(sentencia, "libros") + 1;
+
+            long inicio = System.nanoTime();
+            copiarAutores(primerAutor, autores);
+            System.out.printf("autores: %,d en %,d ms%n", autores, (System.nanoTime() - inicio) / 1_000_000);
+
+            inicio = System.nanoTime();
+            copiarLibros(primerLibro, libros, primerAutor, autores);
+            System.out.printf("libros:  %,d en %,d ms%n", libros, (System.nanoTime() - inicio) / 1_000_000);
+
+            sentencia.execute("SELECT setval('autores_id_seq', (SELECT MAX(id) FROM autores))");
+            sentencia.execute("SELECT setval('libros_id_seq', (SELECT MAX(id) FROM libros))");
+            conexion.commit();
+
+            // Estadísticas frescas para el planificador (y para ?conteo=estimado)
+            conexion.setAutoCommit(true);
+            sentencia.execute("ANALYZE autores");
+            sentencia.execute("ANALYZE libros");
+        } catch (SQLException ex) {
+            conexion.rollback();
+            throw ex;
+        }
+    }
+
+    private void copiarAutores(long primerId, long cantidad) throws SQLException {
+        LocalDateTime ahora = LocalDateTime.now();
+        try (Copia copia = new Copia("COPY autores (id, nombre, apellido, nacionalidad, fecha_nacimiento, "
+                + "activo, created_at, updated_at) FROM STDIN WITH (FORMAT csv)")) {
+            int nombres = Distribuciones.NOMBRES.length;
+            int apellidos = Distribuciones.APELLIDOS.length;
+            for (long i = 0; i < cantidad; i++) {
+                // nombre + dos apellidos; pasado el total de combinaciones se agrega un sufijo
+                String nombre = Distribuciones.NOMBRES[(int) (i % nombres)];
+                long combinacion = i / nombres;
+                String apellido = Distribuciones.APELLIDOS[(int) (combinacion % apellidos)] + " "
+                        + Distribuciones.APELLIDOS[(int) (combinacion / apellidos % apellidos)];
+                if (combinacion >= (long) apellidos * apellidos) {
+                    apellido += " " + (combinacion / ((long) apellidos * apellidos));
+                }
+                LocalDateTime creado = ahora.minusMinutes(azar.nextLong(5L * 365 * 24 * 60));
+
+                copia.fila(primerId + i, nombre, apellido, Distribuciones.nacionalidad(azar),
+                        LocalDate.of(1900 + azar.nextInt(100), 1 + azar.nextInt(12), 1 + azar.nextInt(28)),
+                        true, Timestamp.valueOf(creado), Timestamp.valueOf(creado));
+            }
+        }
+    }
+
+    private void copiarLibros(long primerId, long cantidad, long primerAutor, long autores) throws SQLException {
+        LocalDateTime ahora = LocalDateTime.now();
+        try (Copia copia = new Copia("COPY libros (id, titulo, isbn, genero, anio_publicacion, num_paginas, "
+                + "activo, autor_id, created_at, updated_at) FROM STDIN WITH (FORMAT csv)")) {
+            for (long i = 0; i < cantidad; i++) {
+                long id = primerId + i;
+                LocalDateTime creado = ahora.minusMinutes(azar.nextLong(5L * 365 * 24 * 60));
+
+                copia.fila(id,
+                        Distribuciones.titulo(azar),
+                        azar.nextInt(10) == 0 ? null : Distribuciones.isbn(500_000_000L + id),
+                        Distribuciones.genero(azar),
+                        Distribuciones.anioPublicacion(azar),
+                        Distribuciones.numPaginas(azar),
+                        azar.nextInt(50) != 0,
+                        primerAutor + Distribuciones.autor(azar, autores),
+                        Timestamp.valueOf(creado),
+                        Timestamp.valueOf(creado));
+            }
+        }
+    }
+
+    private static long maximo(Statement sentencia, String tabla) throws SQLException {
+        try (ResultSet rs = sentencia.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabla)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * COPY FROM STDIN escrito por bloques de 64 KB: memoria constante
+     * para cualquier volumen.
+     */
+    private final class Copia implements AutoCloseable {
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(TAMANIO_BUFFER + 1024);
+
+        Copia(String sql) throws SQLException {
+            this.copy = conexion.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        void fila(Object... valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object valor = valores[i];
+                if (valor instanceof String texto) {
+                    buffer.append('"').append(texto.replace("\"", "\"\"")).append('"');
+                } else if (valor != null) {
+                    buffer.append(valor);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= TAMANIO_BUFFER) {
+                vaciar();
+            }
+        }
+
+        private void vaciar() throws SQLException {
+            byte[] datos = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(datos, 0, datos.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            vaciar();
+            copy.endCopy();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.biblioteca.api.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Búsqueda de texto completo (V1): configuración es_unaccent, orden por
+ * ts_rank_cd y triggers que mantienen la columna busqueda.
+ *
+ * Cada test corre en una transacción que se revierte. La base puede traer
+ * datos de prueba o sembrados (con los mismos títulos): cada consulta
+ * incluye el apellido del autor del test, así solo coinciden sus libros.
+ */
+@SpringBootTest
+@Transactional
+class BusquedaTextoTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    private Long autorId;
+    private Long cienAnios;
+    private Long generoSoledad;
+
+    @BeforeEach
+    void cargarDatos() {
+        autorId = jdbcTemplate.queryForObject(
+                "INSERT INTO autores (nombre, apellido) VALUES ('Gabriela', 'Zubiría Prueba') RETURNING id",
+                Long.class);
+        cienAnios = insertarLibro("Cien años de soledad", "Realismo mágico", true);
+        // "soledad" solo en el género (peso C): menos relevante que en el título (peso A)
+        generoSoledad = insertarLibro("Pedro Páramo", "Novela de la soledad", true);
+        insertarLibro("Soledad dada de baja", "Novela", false);
+    }
+
+    @Test
+    void sinAcentosEncuentraElTitulo() {
+        assertThat(buscar("anos")).containsExactly(cienAnios);
+        assertThat(buscar("cien anos")).containsExactly(cienAnios);
+        assertThat(buscar("realismo magico")).containsExactly(cienAnios);
+    }
+
+    @Test
+    void ordenaPorRelevanciaYExcluyeInactivos() {
+        assertThat(buscar("soledad")).containsExactly(cienAnios, generoSoledad);
+    }
+
+    @Test
+    void sintaxisDeBuscadorWeb() {
+        assertThat(buscar("\"cien años\"")).containsExactly(cienAnios);
+        assertThat(buscar("soledad -cien")).containsExactly(generoSoledad);
+    }
+
+    @Test
+    void actualizarElTituloRecalculaElVector() {
+        jdbcTemplate.update("UPDATE libros SET titulo = 'Del amor y otros demonios' WHERE id = ?", cienAnios);
+
+        assertThat(buscar("demonios")).containsExactly(cienAnios);
+        assertThat(buscar("anos")).isEmpty();
+    }
+
+    @Test
+    void renombrarAlAutorRecalculaElVectorDeSusLibros() {
+        jdbcTemplate.update("UPDATE autores SET apellido = 'Ybarzábal Prueba' WHERE id = ?", autorId);
+
+        assertThat(libroRepository.buscarIdsPorTexto("ybarzabal", PageRequest.of(0, 10)).getContent())
+                .containsExactlyInAnyOrder(cienAnios, generoSoledad);
+        assertThat(libroRepository.buscarIdsPorTexto("zubiria", PageRequest.of(0, 10)).getContent())
+                .isEmpty();
+    }
+
+    /** Consulta acotada a los libros del autor del test. */
+    private List<Long> buscar(String consulta) {
+        return libroRepository.buscarIdsPorTexto(consulta + " zubiria", PageRequest.of(0, 10)).getContent();
+    }
+
+    private Long insertarLibro(String titulo, String genero, boolean activo) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO libros (titulo, genero, autor_id, activo) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, titulo, genero, autorId, activo);
+    }
+}
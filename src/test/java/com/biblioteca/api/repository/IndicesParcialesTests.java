@@ -0,0 +1,281 @@
+package com.biblioteca.api.repository;
+
+import com.biblioteca.api.dto.libro.CampoLibro;
+import com.biblioteca.api.dto.libro.LibroFiltroDto;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica con EXPLAIN que cada consulta caliente use su índice parcial
+ * (migraciones V2, V3 y V4) y que la búsqueda de texto use el GIN de V1.
+ *
+ * El SQL es el que genera Hibernate (capturado con un StatementInspector),
+ * no una copia escrita a mano. Cada test corre en una transacción que se
+ * revierte: carga miles de filas, las analiza y desactiva el seq scan
+ * para que el plan dependa solo de los índices disponibles.
+ */
+@SpringBootTest
+@Transactional
+@Import(IndicesParcialesTests.CapturaSql.class)
+class IndicesParcialesTests {
+
+    private static final List<String> SQL = new CopyOnWriteArrayList<>();
+    private static final Set<CampoLibro> TODOS = EnumSet.allOf(CampoLibro.class);
+
+    @TestConfiguration
+    static class CapturaSql {
+
+        @Bean
+        HibernatePropertiesCustomizer capturarSql() {
+            StatementInspector captura = sql -> {
+                SQL.add(sql);
+                return sql;
+            };
+            return propiedades -> propiedades.merge(AvailableSettings.STATEMENT_INSPECTOR, captura,
+                    (previo, nuevo) -> previo instanceof StatementInspector otro
+                            ? (StatementInspector) sql -> captura.inspect(otro.inspect(sql))
+                            : nuevo);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    private Long autorId;
+
+    @BeforeEach
+    void cargarDatos() {
+        jdbcTemplate.execute("""
+                WITH nuevos AS (
+                    INSERT INTO autores (nombre, apellido, activo)
+                    SELECT 'Nombre ' || g, 'Apellido ' || g, g % 10 <> 0
+                    FROM generate_series(1, 500) g
+                    RETURNING id),
+                ids AS (SELECT array_agg(id) AS ids FROM nuevos)
+                INSERT INTO libros (titulo, genero, anio_publicacion, num_paginas, autor_id, activo)
+                SELECT 'Título de prueba para planes número ' || g, 'Novela', 1900 + g % 120,
+                       100 + g % 400, ids[1 + g % 500], g % 5 <> 0
+                FROM generate_series(1, 5000) g, ids
+                """);
+        jdbcTemplate.execute("ANALYZE autores");
+        jdbcTemplate.execute("ANALYZE libros");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        autorId = jdbcTemplate.queryForObject(
+                "SELECT autor_id FROM libros WHERE activo AND titulo LIKE 'Título de prueba para planes%' LIMIT 1",
+                Long.class);
+    }
+
+    // ── Libros ──
+
+    @Test
+    void findByActivoTrueUsaIdxLibrosActivos() {
+        assertThat(planes(() -> libroRepository.findByActivoTrue(PageRequest.of(0, 20, Sort.by("id")))))
+                .hasSize(2)
+                .allSatisfy(plan -> assertThat(plan).contains("idx_libros_activos "));
+    }
+
+    @Test
+    void listadoProyectadoUsaIdxLibrosActivos() {
+        assertThat(planes(() -> libroRepository.findResponsesActivos(PageRequest.of(0, 20, Sort.by("id")))))
+                .allSatisfy(plan -> assertThat(plan).contains("idx_libros_activos "));
+    }
+
+    @Test
+    void countByActivoTrueUsaIdxLibrosActivos() {
+        assertThat(planes(libroRepository::countByActivoTrue))
+                .singleElement().asString().contains("idx_libros_activos ");
+    }
+
+    @Test
+    void findByAutorIdAndActivoTrueUsaIdxLibrosActivosAutor() {
+        assertThat(planes(() -> libroRepository.findByAutorIdAndActivoTrue(autorId)))
+                .singleElement().asString().contains("idx_libros_activos_autor");
+    }
+
+    @Test
+    void librosDeAutorPorCursorUsaIdxLibrosActivosAutor() {
+        assertThat(planes(() -> libroRepository.findResponsesActivosByAutorId(autorId, 0L, Limit.of(21))))
+                .singleElement().asString().contains("idx_libros_activos_autor");
+    }
+
+    @Test
+    void scrollPorTituloUsaIdxLibrosActivosTituloId() {
+        assertThat(planes(() -> libroRepository.findWindowByActivoTrue(
+                ScrollPosition.keyset(), Sort.by("titulo", "id"), Limit.of(20))))
+                .singleElement().asString().contains("idx_libros_activos_titulo_id");
+    }
+
+    @Test
+    void busquedaDeTextoUsaIdxLibrosBusqueda() {
+        assertThat(planes(() -> libroRepository.buscarIdsPorTexto("planes", PageRequest.of(0, 20))))
+                .singleElement().asString().contains("idx_libros_busqueda");
+    }
+
+    // ── Filtros del listado (V4) ──
+
+    @Test
+    void filtroSoloIncluyeLosPredicadosLigados() {
+        SQL.clear();
+        libroRepository.findSliceResponses(
+                LibroFiltros.activos(new LibroFiltroDto("Novela", null, null, null, null, null)),
+                TODOS, PageRequest.of(0, 20));
+
+        assertThat(SQL).singleElement().satisfies(sql -> assertThat(where(sql))
+                .contains("genero")
+                .doesNotContain("anio_publicacion", "num_paginas", "autor_id"));
+    }
+
+    @Test
+    void filtroPorGeneroYAnioUsaIdxLibrosActivosGeneroAnio() {
+        LibroFiltroDto filtro = new LibroFiltroDto("Novela", 1960, 1979, null, null, null);
+
+        assertThat(planes(() -> libroRepository.findSliceResponses(
+                LibroFiltros.activos(filtro), TODOS, PageRequest.of(0, 20))))
+                .singleElement().asString().contains("idx_libros_activos_genero_anio");
+        assertThat(planes(() -> libroRepository.contar(LibroFiltros.activos(filtro))))
+                .singleElement().asString().contains("idx_libros_activos_genero_anio");
+    }
+
+    @Test
+    void filtroPorRangoDeAniosUsaIdxLibrosActivosAnio() {
+        LibroFiltroDto filtro = new LibroFiltroDto(null, 1960, 1979, null, null, null);
+
+        assertThat(planes(() -> libroRepository.findSliceResponses(
+                LibroFiltros.activos(filtro), TODOS, PageRequest.of(0, 20))))
+                .singleElement().asString().contains("idx_libros_activos_anio ");
+    }
+
+    @Test
+    void filtroPorRangoDePaginasUsaIdxLibrosActivosPaginas() {
+        LibroFiltroDto filtro = new LibroFiltroDto(null, null, null, 100, 150, null);
+
+        assertThat(planes(() -> libroRepository.findSliceResponses(
+                LibroFiltros.activos(filtro), TODOS, PageRequest.of(0, 20))))
+                .singleElement().asString().contains("idx_libros_activos_paginas");
+    }
+
+    @Test
+    void filtroCombinadoSeResuelveConIndices() {
+        LibroFiltroDto filtro = new LibroFiltroDto(null, null, null, 100, 150, autorId);
+
+        assertThat(planes(() -> libroRepository.findSliceResponses(
+                LibroFiltros.activos(filtro), TODOS, PageRequest.of(0, 20))))
+                .singleElement().asString()
+                .containsAnyOf("idx_libros_activos_autor", "idx_libros_activos_paginas")
+                .doesNotContain("Seq Scan on libros");
+    }
+
+    // ── Autores ──
+
+    @Test
+    void clavesDeNombrePorApellidoUsanUqAutoresNombre() {
+        assertThat(planes(() -> autorRepository.findClavesNombreByApellidoIn(List.of("Apellido 7", "Apellido 8"))))
+                .singleElement().asString().contains("uq_autores_nombre");
+    }
+
+    @Test
+    void findByActivoTrueDeAutoresUsaIdxAutoresActivos() {
+        assertThat(planes(() -> autorRepository.findByActivoTrue(PageRequest.of(0, 20, Sort.by("id")))))
+                .allSatisfy(plan -> assertThat(plan).contains("idx_autores_activos "));
+    }
+
+    // ── EXPLAIN ──
+
+    /**
+     * Ejecuta la consulta del repositorio y devuelve el EXPLAIN de cada
+     * sentencia que generó.
+     */
+    private List<String> planes(Runnable consulta) {
+        SQL.clear();
+        consulta.run();
+        return new ArrayList<>(SQL).stream().map(this::explain).toList();
+    }
+
+    /**
+     * PREPARE con los parámetros numerados ($1, $2...): PostgreSQL infiere
+     * sus tipos, y EXPLAIN EXECUTE recibe un valor de prueba de cada tipo.
+     */
+    private String explain(String sql) {
+        jdbcTemplate.execute("PREPARE consulta AS " + numerarParametros(sql));
+        try {
+            List<String> tipos = jdbcTemplate.queryForList(
+                    "SELECT t::text FROM pg_prepared_statements, unnest(parameter_types) WITH ORDINALITY p(t, n) "
+                            + "WHERE name = 'consulta' ORDER BY n",
+                    String.class);
+            String argumentos = tipos.isEmpty() ? "" : tipos.stream()
+                    .map(IndicesParcialesTests::valorDePrueba)
+                    .collect(Collectors.joining(", ", "(", ")"));
+            // Una fila por línea del plan ("... using idx_x on tabla ...")
+            return String.join("\n",
+                    jdbcTemplate.queryForList("EXPLAIN EXECUTE consulta" + argumentos, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE consulta");
+        }
+    }
+
+    /** Condiciones del WHERE del SQL generado (hasta ORDER BY / OFFSET / FETCH). */
+    private static String where(String sql) {
+        String minusculas = sql.toLowerCase(Locale.ROOT);
+        int inicio = minusculas.indexOf(" where ");
+        int fin = minusculas.length();
+        for (String cierre : List.of(" order by ", " offset ", " fetch ")) {
+            int posicion = minusculas.indexOf(cierre, inicio);
+            if (posicion > 0) {
+                fin = Math.min(fin, posicion);
+            }
+        }
+        return minusculas.substring(inicio, fin);
+    }
+
+    private static String numerarParametros(String sql) {
+        StringBuilder numerada = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numerada.append('$').append(++n);
+            } else {
+                numerada.append(c);
+            }
+        }
+        return numerada.toString();
+    }
+
+    private static String valorDePrueba(String tipo) {
+        return switch (tipo) {
+            case "bigint", "integer", "smallint" -> "1";
+            case "boolean" -> "true";
+            default -> "'Apellido 7'";
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.autor.AutorResponseDto;
+import com.biblioteca.api.dto.libro.LibroResponseDto;
+import com.biblioteca.api.dto.libro.LibroVersionadoDto;
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent.Snapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caché de respuestas: read-through, invalidación por evento y cargas que
+ * se cruzan con una escritura (la lectura empezó antes del commit y termina
+ * después de la invalidación): el valor leído se sirve pero no se guarda.
+ */
+class CacheRespuestasTests {
+
+    private static final LocalDateTime AYER = LocalDateTime.now().minusDays(1);
+
+    private final CacheRespuestas cache =
+            new CacheRespuestas(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @Test
+    void segundaLecturaSaleDeLaCache() {
+        cache.libro(1L, id -> cargar(id, "Rayuela"));
+        Optional<LibroVersionadoDto> libro = cache.libro(1L, id -> cargar(id, "Rayuela"));
+
+        assertThat(libro).map(versionado -> versionado.libro().titulo()).contains("Rayuela");
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void actualizacionDuranteLaCargaNoGuardaElValorAnterior() {
+        // La carga lee "Rayuela"; antes de que termine, otra transacción
+        // confirma el cambio de título e invalida la clave
+        Optional<LibroVersionadoDto> servido = cache.libro(1L, id -> {
+            Optional<LibroVersionadoDto> anterior = cargar(id, "Rayuela");
+            cache.alCambiarLibro(cambioDeTitulo(id));
+            return anterior;
+        });
+
+        assertThat(servido).map(versionado -> versionado.libro().titulo()).contains("Rayuela");
+        assertThat(cache.libro(1L, id -> cargar(id, "Rayuela (2.ª ed.)")))
+                .map(versionado -> versionado.libro().titulo()).contains("Rayuela (2.ª ed.)");
+        assertThat(cargas).hasValue(2);
+    }
+
+    @Test
+    void invalidarOtraClaveNoImpideGuardar() {
+        cache.libro(1L, id -> {
+            Optional<LibroVersionadoDto> libro = cargar(id, "Rayuela");
+            cache.alCambiarLibro(cambioDeTitulo(2L));
+            return libro;
+        });
+
+        cache.libro(1L, id -> cargar(id, "Rayuela"));
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void lecturaPorIdsDuranteUnRenombradoNoGuardaLosLibrosDelAutor() {
+        cache.libros(List.of(1L, 2L), ids -> {
+            List<LibroVersionadoDto> libros = ids.stream()
+                    .map(id -> cargar(id, "Libro " + id).orElseThrow())
+                    .toList();
+            cache.alCambiarAutor(new AutorCambioEvent(7L,
+                    new AutorCambioEvent.Snapshot("Julio", "Cortázar", "Argentina", true),
+                    new AutorCambioEvent.Snapshot("Julio F.", "Cortázar", "Argentina", true)));
+            return libros;
+        });
+
+        cache.libros(List.of(1L, 2L), ids -> ids.stream().map(id -> cargar(id, "Libro " + id).orElseThrow()).toList());
+        assertThat(cargas).hasValue(4);
+    }
+
+    @Test
+    void autorActualizadoDuranteLaCargaSeVuelveALeer() {
+        AtomicInteger lecturas = new AtomicInteger();
+        cache.autor(7L, id -> {
+            lecturas.incrementAndGet();
+            cache.alCambiarAutor(new AutorCambioEvent(id,
+                    new AutorCambioEvent.Snapshot("Julio", "Cortázar", "Argentina", true),
+                    new AutorCambioEvent.Snapshot("Julio", "Cortázar", "Francesa", true)));
+            return Optional.of(autor(id, "Argentina"));
+        });
+
+        Optional<AutorResponseDto> autor = cache.autor(7L, id -> {
+            lecturas.incrementAndGet();
+            return Optional.of(autor(id, "Francesa"));
+        });
+        assertThat(autor).map(AutorResponseDto::nacionalidad).contains("Francesa");
+        assertThat(lecturas).hasValue(2);
+    }
+
+    private Optional<LibroVersionadoDto> cargar(Long id, String titulo) {
+        cargas.incrementAndGet();
+        return Optional.of(new LibroVersionadoDto(new LibroResponseDto(id, titulo, null, "Novela", 1963, 600,
+                true, 7L, "Julio Cortázar", AYER, AYER), AYER));
+    }
+
+    private static LibroCambioEvent cambioDeTitulo(Long id) {
+        return new LibroCambioEvent(id,
+                new Snapshot("Rayuela", "Novela", 1963, 600, 7L, true),
+                new Snapshot("Rayuela (2.ª ed.)", "Novela", 1963, 600, 7L, true));
+    }
+
+    private static AutorResponseDto autor(Long id, String nacionalidad) {
+        return new AutorResponseDto(id, "Julio", "Cortázar", nacionalidad, null, true, AYER, AYER);
+    }
+}
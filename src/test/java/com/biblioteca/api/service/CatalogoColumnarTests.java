@@ -0,0 +1,181 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.LibrosPorAnioDto;
+import com.biblioteca.api.dto.comun.PaginasGeneroDto;
+import com.biblioteca.api.event.AutorCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent.Snapshot;
+import com.biblioteca.api.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Modelo columnar: consultas sobre las columnas, cambios por evento
+ * (alta, actualización, baja, reactivación) y escaneo en paralelo
+ * contra el mismo cálculo fila por fila.
+ */
+class CatalogoColumnarTests {
+
+    private ForkJoinPool pool;
+    private CatalogoColumnar catalogo;
+
+    @BeforeEach
+    void sembrar() {
+        pool = new ForkJoinPool(4);
+        catalogo = new CatalogoColumnar(0, 0, pool);
+        catalogo.ponerLibro(1, "Novela", 1967, 471, 1);
+        catalogo.ponerLibro(2, "Novela", 1963, 600, 2);
+        catalogo.ponerLibro(3, "Cuento", 1944, 200, 3);
+        catalogo.ponerLibro(4, null, null, null, 3);
+        catalogo.ponerAutor(1, "Colombiana");
+        catalogo.ponerAutor(2, "Argentina");
+        catalogo.ponerAutor(3, "Argentina");
+        catalogo.ponerAutor(4, null);
+    }
+
+    @AfterEach
+    void cerrar() {
+        pool.shutdown();
+    }
+
+    @Test
+    void librosPorRangoDeAnios() {
+        LibrosPorAnioDto resultado = catalogo.librosPorAnio(1960, 1970);
+
+        assertThat(resultado.libros()).isEqualTo(2);
+        assertThat(resultado.porAnio()).containsExactly(Map.entry(1963, 1L), Map.entry(1967, 1L));
+        // Sin extremos: todos los libros con año
+        assertThat(catalogo.librosPorAnio(null, null).libros()).isEqualTo(3);
+        assertThat(catalogo.librosPorAnio(2000, null).libros()).isZero();
+    }
+
+    @Test
+    void rangoInvertidoResponde400() {
+        assertThatThrownBy(() -> catalogo.librosPorAnio(1970, 1960)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void promedioDePaginasPorGeneroIgnoraLosNull() {
+        assertThat(catalogo.paginasPorGenero()).containsExactly(
+                new PaginasGeneroDto("Cuento", 1, 200.0),
+                new PaginasGeneroDto("Novela", 2, 535.5),
+                new PaginasGeneroDto(EstadisticasCatalogo.SIN_DATO, 1, null));
+    }
+
+    @Test
+    void autoresPorNacionalidad() {
+        assertThat(catalogo.autoresPorNacionalidad().autores()).isEqualTo(4);
+        assertThat(catalogo.autoresPorNacionalidad().porNacionalidad())
+                .containsEntry("Argentina", 2L)
+                .containsEntry("Colombiana", 1L)
+                .containsEntry(EstadisticasCatalogo.SIN_DATO, 1L);
+    }
+
+    @Test
+    void actualizacionYBajaPorEvento() {
+        catalogo.aplicar(new LibroCambioEvent(2L,
+                new Snapshot("Rayuela", "Novela", 1963, 600, 2L, true),
+                new Snapshot("Rayuela", "Cuento", 1963, 700, 2L, true)));
+        catalogo.aplicar(new LibroCambioEvent(1L,
+                new Snapshot("Cien años", "Novela", 1967, 471, 1L, true),
+                new Snapshot("Cien años", "Novela", 1967, 471, 1L, false)));
+        catalogo.aplicar(new AutorCambioEvent(3L,
+                new AutorCambioEvent.Snapshot("Jorge Luis", "Borges", "Argentina", true),
+                new AutorCambioEvent.Snapshot("Jorge Luis", "Borges", "Argentina", false)));
+
+        assertThat(catalogo.libros()).isEqualTo(3);
+        assertThat(catalogo.paginasPorGenero()).containsExactly(
+                new PaginasGeneroDto("Cuento", 2, 450.0),
+                new PaginasGeneroDto(EstadisticasCatalogo.SIN_DATO, 1, null));
+        assertThat(catalogo.autoresPorNacionalidad().porNacionalidad()).containsEntry("Argentina", 1L);
+    }
+
+    @Test
+    void eventosReaplicadosNoDuplican() {
+        LibroCambioEvent alta = new LibroCambioEvent(10L, null, new Snapshot("Nuevo", "Ensayo", 2001, 100, 1L, true));
+
+        catalogo.aplicar(alta);
+        catalogo.aplicar(alta);
+
+        assertThat(catalogo.libros()).isEqualTo(5);
+        assertThat(catalogo.librosPorAnio(2001, 2001).libros()).isEqualTo(1);
+    }
+
+    @Test
+    void idMenorQueElUltimoSeInsertaEnOrden() {
+        catalogo.ponerLibro(100, "Ensayo", 2001, 100, 1);
+        catalogo.quitarLibro(3);
+        // Reactivación de una lápida y alta de un id intermedio
+        catalogo.ponerLibro(3, "Cuento", 1944, 200, 3);
+        catalogo.ponerLibro(50, "Ensayo", 2002, 300, 1);
+
+        assertThat(catalogo.libros()).isEqualTo(6);
+        assertThat(catalogo.librosPorAnio(2001, 2002).porAnio())
+                .containsExactly(Map.entry(2001, 1L), Map.entry(2002, 1L));
+        assertThat(catalogo.paginasPorGenero()).contains(new PaginasGeneroDto("Ensayo", 2, 200.0));
+    }
+
+    @Test
+    void escaneoParaleloCoincideConElCalculoFilaPorFila() {
+        CatalogoColumnar grande = new CatalogoColumnar(0, 0, pool);
+        String[] generos = {"Novela", "Cuento", "Poesía", "Ensayo", null};
+        Map<Integer, Long> esperadoPorAnio = new TreeMap<>();
+        Map<String, long[]> esperadoPorGenero = new HashMap<>();
+        Random azar = new Random(42);
+
+        int filas = 300_000;
+        for (long id = 1; id <= filas; id++) {
+            String genero = generos[azar.nextInt(generos.length)];
+            int anio = 1900 + azar.nextInt(120);
+            Integer paginas = azar.nextInt(10) == 0 ? null : 50 + azar.nextInt(900);
+            grande.ponerLibro(id, genero, anio, paginas, 1 + azar.nextInt(1000));
+        }
+        // Un tercio de bajas: fuerza lápidas y compactación
+        for (long id = 3; id <= filas; id += 3) {
+            grande.quitarLibro(id);
+        }
+
+        azar = new Random(42);
+        for (long id = 1; id <= filas; id++) {
+            String genero = generos[azar.nextInt(generos.length)];
+            int anio = 1900 + azar.nextInt(120);
+            Integer paginas = azar.nextInt(10) == 0 ? null : 50 + azar.nextInt(900);
+            azar.nextInt(1000);
+            if (id % 3 == 0) {
+                continue;
+            }
+            if (anio >= 1950 && anio <= 1999) {
+                esperadoPorAnio.merge(anio, 1L, Long::sum);
+            }
+            long[] acumulado = esperadoPorGenero.computeIfAbsent(
+                    genero != null ? genero : EstadisticasCatalogo.SIN_DATO, g -> new long[3]);
+            acumulado[0]++;
+            if (paginas != null) {
+                acumulado[1]++;
+                acumulado[2] += paginas;
+            }
+        }
+
+        assertThat(grande.libros()).isEqualTo(filas - filas / 3);
+        assertThat(grande.librosPorAnio(1950, 1999).porAnio()).isEqualTo(esperadoPorAnio);
+        List<PaginasGeneroDto> porGenero = grande.paginasPorGenero();
+        assertThat(porGenero).hasSize(esperadoPorGenero.size());
+        for (PaginasGeneroDto genero : porGenero) {
+            long[] esperado = esperadoPorGenero.get(genero.genero());
+            assertThat(genero.libros()).isEqualTo(esperado[0]);
+            assertThat(genero.promedioPaginas()).isCloseTo((double) esperado[2] / esperado[1], within(1e-9));
+        }
+    }
+}
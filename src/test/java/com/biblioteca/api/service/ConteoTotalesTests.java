@@ -0,0 +1,94 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.ModoConteo;
+import com.biblioteca.api.dto.comun.PaginaDto;
+import com.biblioteca.api.dto.comun.TipoTotal;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Total de los listados: atajo exacto en la última página con filas,
+ * estimación con piso y conteo cacheado cuando no hay estadísticas.
+ */
+class ConteoTotalesTests {
+
+    private final ConteoTotales conteo = new ConteoTotales(Duration.ofMinutes(1));
+    private final AtomicInteger conteos = new AtomicInteger();
+    private final LongSupplier exacto = () -> {
+        conteos.incrementAndGet();
+        return 42;
+    };
+
+    @Test
+    void ultimaPaginaConFilasEsExactaSinConsultar() {
+        PaginaDto<String> pagina = conteo.paginar(slice(2, List.of("a", "b"), false),
+                ModoConteo.CACHE, "libros", exacto, () -> 1000);
+
+        // Offset 4 + 2 filas
+        assertThat(pagina.totalElements()).isEqualTo(6L);
+        assertThat(pagina.tipoTotal()).isEqualTo(TipoTotal.EXACTO);
+        assertThat(conteos).hasValue(0);
+    }
+
+    @Test
+    void listadoVacioEsExactoConTotalCero() {
+        PaginaDto<String> pagina = conteo.paginar(slice(0, List.of(), false),
+                ModoConteo.CACHE, "libros", exacto, () -> 1000);
+
+        assertThat(pagina.totalElements()).isZero();
+        assertThat(pagina.tipoTotal()).isEqualTo(TipoTotal.EXACTO);
+    }
+
+    @Test
+    void paginaVaciaMasAllaDelFinalUsaElConteoCacheado() {
+        PaginaDto<String> pagina = conteo.paginar(slice(500, List.of(), false),
+                ModoConteo.CACHE, "libros", exacto, () -> 1000);
+
+        assertThat(pagina.totalElements()).isEqualTo(42L);
+        assertThat(pagina.tipoTotal()).isEqualTo(TipoTotal.CACHEADO);
+        assertThat(conteos).hasValue(1);
+    }
+
+    @Test
+    void paginaVaciaMasAllaDelFinalUsaLaEstimacionSinPiso() {
+        PaginaDto<String> pagina = conteo.paginar(slice(500, List.of(), false),
+                ModoConteo.ESTIMADO, "libros", exacto, () -> 30);
+
+        assertThat(pagina.totalElements()).isEqualTo(30L);
+        assertThat(pagina.tipoTotal()).isEqualTo(TipoTotal.ESTIMADO);
+    }
+
+    @Test
+    void estimacionNuncaPorDebajoDeLoVisto() {
+        PaginaDto<String> pagina = conteo.paginar(slice(2, List.of("a", "b"), true),
+                ModoConteo.ESTIMADO, "libros", exacto, () -> 3);
+
+        // Página 2 de tamaño 2 con siguiente: existen al menos 6 + 1 filas
+        assertThat(pagina.totalElements()).isEqualTo(7L);
+        assertThat(pagina.tipoTotal()).isEqualTo(TipoTotal.ESTIMADO);
+    }
+
+    @Test
+    void sinEstadisticasCaeAlConteoCacheado() {
+        LongSupplier sinEstadisticas = () -> -1;
+        conteo.paginar(slice(0, List.of("a", "b"), true), ModoConteo.ESTIMADO, "libros", exacto, sinEstadisticas);
+        PaginaDto<String> pagina = conteo.paginar(slice(1, List.of("c", "d"), true),
+                ModoConteo.ESTIMADO, "libros", exacto, sinEstadisticas);
+
+        assertThat(pagina.totalElements()).isEqualTo(42L);
+        assertThat(pagina.tipoTotal()).isEqualTo(TipoTotal.CACHEADO);
+        assertThat(conteos).hasValue(1);
+    }
+
+    private static SliceImpl<String> slice(int pagina, List<String> filas, boolean haySiguiente) {
+        return new SliceImpl<>(filas, PageRequest.of(pagina, 2), haySiguiente);
+    }
+}
@@ -0,0 +1,163 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.EstadisticasCatalogoDto;
+import com.biblioteca.api.event.LibroCambioEvent;
+import com.biblioteca.api.event.LibroCambioEvent.Snapshot;
+import com.biblioteca.api.repository.LibroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Agregados del catálogo: siembra desde la BD, deltas por evento
+ * (alta, cambio de género / autor, baja lógica) y reconciliación, también
+ * con escrituras que confirman en medio de la carga.
+ */
+class EstadisticasCatalogoTests {
+
+    private final LibroRepository libroRepository = mock(LibroRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final EstadisticasCatalogo estadisticas = new EstadisticasCatalogo(libroRepository, transactionManager);
+
+    @BeforeEach
+    void sembrar() {
+        when(libroRepository.contarActivosPorGenero()).thenReturn(List.<Object[]>of(
+                new Object[]{"Novela", 2L}, new Object[]{null, 1L}));
+        when(libroRepository.contarActivosPorAnio()).thenReturn(List.<Object[]>of(
+                new Object[]{1967, 1L}, new Object[]{1962, 1L}, new Object[]{null, 1L}));
+        when(libroRepository.contarActivosPorAutor()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 2L, 700L}, new Object[]{2L, 1L, 150L}));
+        estadisticas.reconciliar();
+    }
+
+    @Test
+    void siembraDesdeLosGroupBy() {
+        EstadisticasCatalogoDto catalogo = estadisticas.catalogo();
+
+        assertThat(catalogo.libros()).isEqualTo(3);
+        assertThat(catalogo.autoresConLibros()).isEqualTo(2);
+        assertThat(catalogo.porGenero()).containsEntry("Novela", 2L)
+                .containsEntry(EstadisticasCatalogo.SIN_DATO, 1L);
+        assertThat(catalogo.porDecada()).containsEntry("1960", 2L)
+                .containsEntry(EstadisticasCatalogo.SIN_DATO, 1L);
+        assertThat(estadisticas.autor(1L).paginas()).isEqualTo(700);
+    }
+
+    @Test
+    void altaSumaEnTodosLosAgregados() {
+        estadisticas.alCambiarLibro(new LibroCambioEvent(10L, null,
+                new Snapshot("Rayuela", "Novela", 1963, 600, 3L, true)));
+
+        EstadisticasCatalogoDto catalogo = estadisticas.catalogo();
+        assertThat(catalogo.libros()).isEqualTo(4);
+        assertThat(catalogo.porGenero()).containsEntry("Novela", 3L);
+        assertThat(catalogo.porDecada()).containsEntry("1960", 3L);
+        assertThat(estadisticas.autor(3L).libros()).isEqualTo(1);
+        assertThat(estadisticas.autor(3L).paginas()).isEqualTo(600);
+    }
+
+    @Test
+    void cambioDeGeneroYAutorMueveLaContribucion() {
+        Snapshot anterior = new Snapshot("Ficciones", "Novela", 1944, 200, 1L, true);
+        Snapshot actual = new Snapshot("Ficciones", "Cuento", 1944, 200, 2L, true);
+
+        estadisticas.alCambiarLibro(new LibroCambioEvent(11L, anterior, actual));
+
+        EstadisticasCatalogoDto catalogo = estadisticas.catalogo();
+        assertThat(catalogo.libros()).isEqualTo(3);
+        assertThat(catalogo.porGenero()).containsEntry("Novela", 1L).containsEntry("Cuento", 1L);
+        assertThat(estadisticas.autor(1L).paginas()).isEqualTo(500);
+        assertThat(estadisticas.autor(2L).libros()).isEqualTo(2);
+    }
+
+    @Test
+    void bajaLogicaRestaYQuitaGruposVacios() {
+        Snapshot activo = new Snapshot("Sobre héroes", "Novela", 1961, 150, 2L, true);
+        Snapshot inactivo = new Snapshot("Sobre héroes", "Novela", 1961, 150, 2L, false);
+
+        estadisticas.alCambiarLibro(new LibroCambioEvent(12L, activo, inactivo));
+
+        EstadisticasCatalogoDto catalogo = estadisticas.catalogo();
+        assertThat(catalogo.libros()).isEqualTo(2);
+        assertThat(catalogo.autoresConLibros()).isEqualTo(1);
+        assertThat(estadisticas.autor(2L).libros()).isZero();
+    }
+
+    @Test
+    void reconciliarCorrigeLaDeriva() {
+        estadisticas.alCambiarLibro(new LibroCambioEvent(13L, null,
+                new Snapshot("Duplicado", "Novela", 2001, 100, 1L, true)));
+
+        estadisticas.reconciliar();
+
+        assertThat(estadisticas.catalogo().libros()).isEqualTo(3);
+        assertThat(estadisticas.catalogo().porDecada()).doesNotContainKey("2000");
+    }
+
+    @Test
+    void losGroupByLeenUnaMismaInstantanea() {
+        ArgumentCaptor<TransactionDefinition> definicion = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definicion.capture());
+
+        assertThat(definicion.getValue().getIsolationLevel())
+                .isEqualTo(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        assertThat(definicion.getValue().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void escrituraEntreDosGroupByNoSeCuentaDosVeces() {
+        LibroCambioEvent alta = new LibroCambioEvent(14L, null,
+                new Snapshot("Rayuela", "Novela", 1963, 600, 3L, true));
+        // La alta confirma después del GROUP BY por género y antes del de años:
+        // la primera carga ve el libro en dos de los tres agregados
+        when(libroRepository.contarActivosPorGenero()).thenReturn(
+                List.<Object[]>of(new Object[]{"Novela", 2L}, new Object[]{null, 1L}),
+                List.<Object[]>of(new Object[]{"Novela", 3L}, new Object[]{null, 1L}));
+        when(libroRepository.contarActivosPorAnio()).thenAnswer(invocacion -> {
+            estadisticas.alCambiarLibro(alta);
+            return List.<Object[]>of(new Object[]{1967, 1L}, new Object[]{1962, 1L},
+                    new Object[]{1963, 1L}, new Object[]{null, 1L});
+        }).thenReturn(List.<Object[]>of(new Object[]{1967, 1L}, new Object[]{1962, 1L},
+                new Object[]{1963, 1L}, new Object[]{null, 1L}));
+        when(libroRepository.contarActivosPorAutor()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 2L, 700L}, new Object[]{2L, 1L, 150L}, new Object[]{3L, 1L, 600L}));
+
+        estadisticas.reconciliar();
+
+        EstadisticasCatalogoDto catalogo = estadisticas.catalogo();
+        assertThat(catalogo.libros()).isEqualTo(4);
+        assertThat(catalogo.porGenero()).containsEntry("Novela", 3L);
+        assertThat(catalogo.porDecada()).containsEntry("1960", 3L);
+        assertThat(estadisticas.autor(3L).libros()).isEqualTo(1);
+        // Siembra + carga descartada + carga válida
+        verify(libroRepository, times(3)).contarActivosPorGenero();
+    }
+
+    @Test
+    void cambiosContinuosConservanLosAgregadosActuales() {
+        AtomicLong ids = new AtomicLong(100);
+        when(libroRepository.contarActivosPorAnio()).thenAnswer(invocacion -> {
+            estadisticas.alCambiarLibro(new LibroCambioEvent(ids.incrementAndGet(), null,
+                    new Snapshot("Alta continua", "Novela", 2001, 100, 3L, true)));
+            return List.<Object[]>of();
+        });
+
+        estadisticas.reconciliar();
+
+        // Ninguna carga fue válida: siguen los agregados por evento, con una alta por intento
+        assertThat(estadisticas.catalogo().libros()).isEqualTo(3 + EstadisticasCatalogo.INTENTOS_RECONCILIACION);
+        verify(libroRepository, times(1 + EstadisticasCatalogo.INTENTOS_RECONCILIACION)).contarActivosPorGenero();
+    }
+}
@@ -0,0 +1,165 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.FormatoArchivo;
+import com.biblioteca.api.dto.libro.ImportacionResultadoDto;
+import com.biblioteca.api.dto.libro.ImportacionResultadoDto.ErrorFila;
+import com.biblioteca.api.event.LibrosImportadosEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación masiva contra PostgreSQL: COPY a staging, filas rechazadas,
+ * ISBN repetidos dentro del archivo y fusión ON CONFLICT, con los conteos
+ * de insertadas y actualizadas que salen de xmax = 0.
+ *
+ * Cada test corre en una transacción que se revierte; el evento
+ * LibrosImportadosEvent se registra al publicarse (sus listeners son
+ * AFTER_COMMIT y no llegan a ejecutarse).
+ */
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class ImportacionLibrosTests {
+
+    private static final String ISBN_EXISTENTE = "9780000000001";
+    private static final String ISBN_NUEVO = "9780000000002";
+
+    @Autowired
+    private ImportacionLibrosService importacion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    private Long autorId;
+
+    @BeforeEach
+    void cargarDatos() {
+        autorId = jdbcTemplate.queryForObject(
+                "INSERT INTO autores (nombre, apellido, activo) VALUES ('Importación', 'De Prueba', TRUE) RETURNING id",
+                Long.class);
+        // Dado de baja: la importación lo actualiza y lo reactiva
+        jdbcTemplate.update("INSERT INTO libros (titulo, isbn, genero, autor_id, activo) VALUES (?, ?, ?, ?, FALSE)",
+                "Título anterior", ISBN_EXISTENTE, "Novela", autorId);
+    }
+
+    @Test
+    void csvInsertaActualizaYRechaza() throws IOException {
+        ImportacionResultadoDto resultado = importar(FormatoArchivo.CSV, """
+                titulo,isbn,genero,anio_publicacion,num_paginas,autor_id
+                "Nuevo, primera edición",%2$s,Novela,2001,320,%1$d
+                Título actualizado,%3$s,Cuento,1999,150,%1$d
+                ,9780000000003,Ensayo,2005,90,%1$d
+                Autor inexistente,9780000000004,,,,999999999
+                Repetido en el archivo,%2$s,Poesía,2010,60,%1$d
+                Sin ISBN,,Poesía,,,%1$d
+                Páginas inválidas,9780000000005,,,abc,%1$d
+                """.formatted(autorId, ISBN_NUEVO, ISBN_EXISTENTE));
+
+        assertThat(resultado.leidas()).isEqualTo(7);
+        assertThat(resultado.insertadas()).isEqualTo(2);
+        assertThat(resultado.actualizadas()).isEqualTo(1);
+        assertThat(resultado.rechazadas()).isEqualTo(4);
+        assertThat(resultado.erroresTruncados()).isFalse();
+        assertThat(resultado.errores()).extracting(ErrorFila::fila).containsExactly(3L, 4L, 5L, 7L);
+        assertThat(resultado.errores()).extracting(ErrorFila::motivo).satisfiesExactly(
+                motivo -> assertThat(motivo).isEqualTo("titulo: El título es obligatorio"),
+                motivo -> assertThat(motivo).isEqualTo("No se encontró Autor con ID 999999999"),
+                motivo -> assertThat(motivo).contains(ISBN_NUEVO).endsWith("(repetido en el archivo)"),
+                motivo -> assertThat(motivo).isEqualTo("num_paginas: 'abc' no es un número entero"));
+
+        // Gana la primera fila del ISBN repetido
+        assertThat(libro(ISBN_NUEVO))
+                .containsEntry("titulo", "Nuevo, primera edición")
+                .containsEntry("num_paginas", 320)
+                .containsEntry("activo", true);
+        assertThat(libro(ISBN_EXISTENTE))
+                .containsEntry("titulo", "Título actualizado")
+                .containsEntry("genero", "Cuento")
+                .containsEntry("activo", true);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM libros WHERE autor_id = ? AND isbn IS NULL", Long.class, autorId))
+                .isEqualTo(1L);
+
+        assertThat(eventos.stream(LibrosImportadosEvent.class))
+                .containsExactly(new LibrosImportadosEvent(2, 1));
+    }
+
+    @Test
+    void ndjsonConLineasInvalidas() throws IOException {
+        ImportacionResultadoDto resultado = importar(FormatoArchivo.NDJSON, """
+                {"titulo": "Desde NDJSON", "isbn": "%2$s", "num_paginas": 210, "autor_id": %1$d}
+                {"titulo": "Sin cerrar", "autor_id": %1$d
+
+                {"titulo": "ISBN corto", "isbn": "123", "autor_id": %1$d}
+                {"titulo": "Reimpresión", "isbn": "%3$s", "anio_publicacion": 2020, "autor_id": %1$d}
+                """.formatted(autorId, ISBN_NUEVO, ISBN_EXISTENTE));
+
+        // La línea en blanco no cuenta como fila
+        assertThat(resultado.leidas()).isEqualTo(4);
+        assertThat(resultado.insertadas()).isEqualTo(1);
+        assertThat(resultado.actualizadas()).isEqualTo(1);
+        assertThat(resultado.errores()).extracting(ErrorFila::fila).containsExactly(2L, 3L);
+        assertThat(resultado.errores().get(0).motivo()).startsWith("JSON inválido");
+        assertThat(resultado.errores().get(1).motivo()).startsWith("isbn: ");
+
+        assertThat(libro(ISBN_EXISTENTE))
+                .containsEntry("titulo", "Reimpresión")
+                .containsEntry("anio_publicacion", 2020);
+        assertThat(eventos.stream(LibrosImportadosEvent.class))
+                .containsExactly(new LibrosImportadosEvent(1, 1));
+    }
+
+    @Test
+    void archivoSinFilasValidasNoFusionaNada() throws IOException {
+        ImportacionResultadoDto resultado = importar(FormatoArchivo.CSV, """
+                titulo,autor_id
+                ,%d
+                """.formatted(autorId));
+
+        assertThat(resultado.leidas()).isEqualTo(1);
+        assertThat(resultado.insertadas()).isZero();
+        assertThat(resultado.actualizadas()).isZero();
+        assertThat(resultado.rechazadas()).isEqualTo(1);
+        assertThat(libro(ISBN_EXISTENTE)).containsEntry("activo", false);
+        assertThat(eventos.stream(LibrosImportadosEvent.class))
+                .containsExactly(new LibrosImportadosEvent(0, 0));
+    }
+
+    @Test
+    void cabeceraConMarcaDeOrdenDeBytes() throws IOException {
+        // Excel antepone U+FEFF al guardar CSV en UTF-8
+        ImportacionResultadoDto resultado = importar(FormatoArchivo.CSV, """
+                \uFEFFtitulo,isbn,autor_id
+                Con BOM,%s,%d
+                """.formatted(ISBN_NUEVO, autorId));
+
+        assertThat(resultado.insertadas()).isEqualTo(1);
+        assertThat(resultado.rechazadas()).isZero();
+        assertThat(libro(ISBN_NUEVO)).containsEntry("titulo", "Con BOM");
+    }
+
+    private ImportacionResultadoDto importar(FormatoArchivo formato, String contenido) throws IOException {
+        return importacion.importar(formato, new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, Object> libro(String isbn) {
+        return jdbcTemplate.queryForMap(
+                "SELECT titulo, genero, anio_publicacion, num_paginas, activo FROM libros WHERE isbn = ?", isbn);
+    }
+}
@@ -0,0 +1,62 @@
+package com.biblioteca.api.service;
+
+import com.biblioteca.api.dto.comun.SugerenciaDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Índice de prefijos: normalización, orden y consistencia entre la base
+ * compacta y las altas / bajas pendientes de fusionar.
+ */
+class IndicePrefijosTests {
+
+    private final IndicePrefijos indice = new IndicePrefijos("libro");
+
+    @Test
+    void buscaSinDistinguirAcentosNiMayusculas() {
+        indice.reconstruir(Stream.of(
+                new SugerenciaDto("libro", 1L, "Cien años de soledad"),
+                new SugerenciaDto("libro", 2L, "El amor en los tiempos del cólera"),
+                new SugerenciaDto("libro", 3L, "Ciudad y los perros")));
+
+        assertThat(ids(indice.buscar("CIEN AÑOS", 10))).containsExactly(1L);
+        assertThat(ids(indice.buscar("ci", 10))).containsExactly(1L, 3L);
+        assertThat(indice.buscar("el amor", 10).get(0).texto())
+                .isEqualTo("El amor en los tiempos del cólera");
+    }
+
+    @Test
+    void altasYBajasSeVenAntesYDespuesDeCompactar() {
+        indice.reconstruir(Stream.of(new SugerenciaDto("libro", 1L, "Ficciones")));
+
+        indice.agregar(2L, "Fervor de Buenos Aires");
+        indice.quitar(1L, "Ficciones");
+        assertThat(ids(indice.buscar("f", 10))).containsExactly(2L);
+
+        // Suficientes escrituras para forzar la compactación
+        IntStream.range(100, 2_200).forEach(id -> indice.agregar(id, "Libro " + id));
+        assertThat(indice.estadisticas().pendientes()).isLessThan(1_100);
+        assertThat(ids(indice.buscar("f", 10))).containsExactly(2L);
+        assertThat(indice.buscar("libro", 5)).hasSize(5);
+    }
+
+    @Test
+    void renombrarReemplazaLaEntrada() {
+        indice.reconstruir(Stream.of(new SugerenciaDto("libro", 1L, "Borrador")));
+
+        indice.quitar(1L, "Borrador");
+        indice.agregar(1L, "Versión final");
+
+        assertThat(indice.buscar("borr", 10)).isEmpty();
+        assertThat(ids(indice.buscar("version", 10))).containsExactly(1L);
+    }
+
+    private static List<Long> ids(List<SugerenciaDto> sugerencias) {
+        return sugerencias.stream().map(SugerenciaDto::id).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.biblioteca.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recarga tras una importación: corre fuera del hilo que la pide y las
+ * peticiones que llegan mientras espera se agrupan en una sola.
+ */
+class RecargaEnSegundoPlanoTests {
+
+    private final ExecutorService hilo = Executors.newSingleThreadExecutor();
+    private final AtomicInteger recargas = new AtomicInteger();
+
+    @AfterEach
+    void cerrar() {
+        hilo.shutdownNow();
+    }
+
+    @Test
+    void noBloqueaAlQueLaPide() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        RecargaEnSegundoPlano recarga = new RecargaEnSegundoPlano("prueba", () -> {
+            esperar(liberar);
+            recargas.incrementAndGet();
+        }, hilo);
+
+        recarga.solicitar();
+        assertThat(recargas).hasValue(0);
+
+        liberar.countDown();
+        terminar();
+        assertThat(recargas).hasValue(1);
+    }
+
+    @Test
+    void peticionesDuranteUnaRecargaSeAgrupanEnUnaSola() throws Exception {
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        RecargaEnSegundoPlano recarga = new RecargaEnSegundoPlano("prueba", () -> {
+            if (recargas.incrementAndGet() == 1) {
+                enCurso.countDown();
+                esperar(liberar);
+            }
+        }, hilo);
+
+        recarga.solicitar();
+        assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+        // Cinco importaciones confirmadas mientras la primera recarga lee
+        for (int i = 0; i < 5; i++) {
+            recarga.solicitar();
+        }
+        liberar.countDown();
+        terminar();
+
+        assertThat(recargas).hasValue(2);
+    }
+
+    @Test
+    void unFalloNoImpideLaSiguienteRecarga() throws Exception {
+        CountDownLatch fallo = new CountDownLatch(1);
+        RecargaEnSegundoPlano recarga = new RecargaEnSegundoPlano("prueba", () -> {
+            if (recargas.incrementAndGet() == 1) {
+                fallo.countDown();
+                throw new IllegalStateException("BD caída");
+            }
+        }, hilo);
+
+        recarga.solicitar();
+        assertThat(fallo.await(5, TimeUnit.SECONDS)).isTrue();
+        recarga.solicitar();
+        terminar();
+
+        assertThat(recargas).hasValue(2);
+    }
+
+    private void terminar() throws InterruptedException {
+        hilo.shutdown();
+        assertThat(hilo.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}